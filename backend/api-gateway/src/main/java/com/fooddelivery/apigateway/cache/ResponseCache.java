@@ -0,0 +1,157 @@
+package com.fooddelivery.apigateway.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * In-memory cache of GET responses, bounded by total body size and evicted least-recently-used first.
+ *
+ * Entries are tagged with the restaurant they belong to so a restaurant or menu change only drops
+ * the responses it can affect; untagged entries are list endpoints spanning many restaurants.
+ */
+@Component
+@Slf4j
+public class ResponseCache {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${gateway.cache.max-bytes:67108864}")
+    private long maxBytes;
+
+    @Value("${gateway.cache.max-entry-bytes:1048576}")
+    private int maxEntryBytes;
+
+    // Access-ordered, so iteration starts at the least recently used entry
+    private final LinkedHashMap<String, CachedResponse> entries = new LinkedHashMap<>(256, 0.75f, true);
+
+    private long totalBytes;
+
+    // Bumped on every invalidation; responses fetched before an invalidation must not be stored after it
+    private long generation;
+
+    private Counter evictions;
+
+    @PostConstruct
+    public void init() {
+        evictions = Counter.builder("gateway.cache.evictions").register(meterRegistry);
+        Gauge.builder("gateway.cache.entries", this, ResponseCache::size).register(meterRegistry);
+        Gauge.builder("gateway.cache.bytes", this, ResponseCache::bytes).register(meterRegistry);
+    }
+
+    public int getMaxEntryBytes() {
+        return maxEntryBytes;
+    }
+
+    public synchronized CachedResponse get(String key, long now) {
+        CachedResponse cached = entries.get(key);
+        if (cached == null) {
+            return null;
+        }
+        if (now >= cached.getExpiresAt()) {
+            remove(key);
+            return null;
+        }
+        return cached;
+    }
+
+    public synchronized long generation() {
+        return generation;
+    }
+
+    /**
+     * Store a response unless an invalidation happened since generationAtRequest was read.
+     */
+    public synchronized void put(String key, CachedResponse response, long generationAtRequest) {
+        if (generation != generationAtRequest || response.getBody().length > maxEntryBytes) {
+            return;
+        }
+        remove(key);
+        entries.put(key, response);
+        totalBytes += response.getBody().length;
+
+        Iterator<CachedResponse> eldest = entries.values().iterator();
+        while (totalBytes > maxBytes && eldest.hasNext()) {
+            totalBytes -= eldest.next().getBody().length;
+            eldest.remove();
+            evictions.increment();
+        }
+    }
+
+    /**
+     * Drop every response of a restaurant and, if includeLists is set, every list response.
+     * A null restaurantId only drops list responses.
+     */
+    public synchronized void invalidate(Long restaurantId, boolean includeLists) {
+        generation++;
+        int before = entries.size();
+        Iterator<Map.Entry<String, CachedResponse>> it = entries.entrySet().iterator();
+        while (it.hasNext()) {
+            CachedResponse cached = it.next().getValue();
+            Long tag = cached.getRestaurantId();
+            if ((restaurantId != null && Objects.equals(tag, restaurantId)) || (includeLists && tag == null)) {
+                totalBytes -= cached.getBody().length;
+                it.remove();
+            }
+        }
+        log.debug("Invalidated {} cached responses for restaurant: {}", before - entries.size(), restaurantId);
+    }
+
+    public static String etagOf(byte[] body) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(body);
+            return "\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(hash) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private void remove(String key) {
+        CachedResponse removed = entries.remove(key);
+        if (removed != null) {
+            totalBytes -= removed.getBody().length;
+        }
+    }
+
+    private synchronized int size() {
+        return entries.size();
+    }
+
+    private synchronized long bytes() {
+        return totalBytes;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class CachedResponse {
+
+        private final byte[] body;
+
+        private final MediaType contentType;
+
+        // Strong validator: SHA-256 of the exact body bytes
+        private final String etag;
+
+        // Null for list responses that are not tied to a single restaurant
+        private final Long restaurantId;
+
+        private final long expiresAt;
+    }
+}
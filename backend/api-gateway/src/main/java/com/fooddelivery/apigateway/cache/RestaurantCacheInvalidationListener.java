@@ -0,0 +1,44 @@
+package com.fooddelivery.apigateway.cache;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+@Component
+@Slf4j
+public class RestaurantCacheInvalidationListener {
+
+    @Autowired
+    private ResponseCache responseCache;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // Every gateway instance has its own response cache, so each one needs its own consumer group
+    @KafkaListener(
+            topics = "restaurant.events",
+            groupId = "#{'api-gateway-cache-' + T(java.util.UUID).randomUUID()}",
+            properties = {"auto.offset.reset=latest"}
+    )
+    public void consumeRestaurantEvent(String message) {
+        try {
+            log.debug("Received restaurant event: {}", message);
+            JsonNode event = objectMapper.readTree(message);
+            JsonNode restaurantId = event.path("restaurantId");
+            Long id = restaurantId.canConvertToLong() ? restaurantId.asLong() : null;
+
+            // Menu changes only show up under /restaurants/{id}/menu; restaurant changes also affect the lists
+            boolean menuEvent = event.path("eventType").asText("").startsWith("MENU_");
+            if (menuEvent && id == null) {
+                log.warn("Ignoring menu event without restaurantId: {}", message);
+                return;
+            }
+            responseCache.invalidate(id, !menuEvent);
+        } catch (Exception e) {
+            log.error("Error processing restaurant event: {}", message, e);
+        }
+    }
+}
@@ -35,7 +35,8 @@ public class CorsConfig {
                 "Content-Type",
                 "Authorization",
                 "X-User-Id",
-                "X-Total-Count"
+                "X-Total-Count",
+                "X-Next-Cursor"
         ));
 
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
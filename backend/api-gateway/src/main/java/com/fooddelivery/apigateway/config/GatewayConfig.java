@@ -1,12 +1,19 @@
 package com.fooddelivery.apigateway.config;
 
+import com.fooddelivery.apigateway.filter.AdaptiveConcurrencyLimitFilter;
+import com.fooddelivery.apigateway.filter.CircuitBreakerFilter;
 import com.fooddelivery.apigateway.filter.JwtAuthenticationFilter;
+import com.fooddelivery.apigateway.filter.RateLimitingFilter;
+import com.fooddelivery.apigateway.filter.RequestCoalescingFilter;
+import com.fooddelivery.apigateway.filter.ResponseCacheFilter;
+import com.fooddelivery.apigateway.loadbalancer.ServiceInstancePool;
 import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
 import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
 import io.github.resilience4j.core.registry.EntryAddedEvent;
 import io.github.resilience4j.core.registry.EntryRemovedEvent;
 import io.github.resilience4j.core.registry.EntryReplacedEvent;
 import io.github.resilience4j.core.registry.RegistryEventConsumer;
+import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cloud.gateway.filter.ratelimit.KeyResolver;
@@ -27,6 +34,25 @@ public class GatewayConfig {
     @Autowired
     private JwtAuthenticationFilter jwtAuthenticationFilter;
 
+    @Autowired
+    private RateLimitingFilter rateLimitingFilter;
+
+    @Autowired
+    private ResponseCacheFilter responseCacheFilter;
+
+    @Autowired
+    private RequestCoalescingFilter requestCoalescingFilter;
+
+    @Autowired
+    private AdaptiveConcurrencyLimitFilter concurrencyLimitFilter;
+
+    @Autowired
+    private CircuitBreakerFilter circuitBreakerFilter;
+
+    @Autowired
+    private ServiceInstancePool instancePool;
+
+    // Each service URL may be a comma-separated list of instances
     @org.springframework.beans.factory.annotation.Value("${USER_SERVICE_URL:http://localhost:8081}")
     private String userServiceUrl;
 
@@ -42,6 +68,18 @@ public class GatewayConfig {
     @org.springframework.beans.factory.annotation.Value("${NOTIFICATION_SERVICE_URL:http://localhost:8085}")
     private String notificationServiceUrl;
 
+    /**
+     * Register the instances behind each lb:// route URI
+     */
+    @PostConstruct
+    public void registerServiceInstances() {
+        instancePool.register("user-service", userServiceUrl);
+        instancePool.register("restaurant-service", restaurantServiceUrl);
+        instancePool.register("order-service", orderServiceUrl);
+        instancePool.register("delivery-service", deliveryServiceUrl);
+        instancePool.register("notification-service", notificationServiceUrl);
+    }
+
     /**
      * Define all routes for the gateway
      */
@@ -51,43 +89,63 @@ public class GatewayConfig {
                 // User Service Routes
                 .route("user-service-auth", r -> r
                         .path("/auth/**")
-                        .uri(userServiceUrl)
+                        .filters(f -> f
+                                .filter(rateLimitingFilter.apply(new RateLimitingFilter.Config(5, 10, RateLimitingFilter.Mode.EXACT)))
+                                .filter(concurrencyLimitFilter.apply(new AdaptiveConcurrencyLimitFilter.Config()))
+                                .filter(circuitBreakerFilter.apply(new CircuitBreakerFilter.Config()))
+                        )
+                        .uri("lb://user-service")
                 )
                 .route("user-service", r -> r
                         .path("/users/**")
                         .filters(f -> f
                                 .filter(jwtAuthenticationFilter.apply(new JwtAuthenticationFilter.Config()))
+                                .filter(rateLimitingFilter.apply(new RateLimitingFilter.Config(10, 20)))
+                                .filter(concurrencyLimitFilter.apply(new AdaptiveConcurrencyLimitFilter.Config()))
+                                .filter(circuitBreakerFilter.apply(new CircuitBreakerFilter.Config()))
                         )
-                        .uri(userServiceUrl)
+                        .uri("lb://user-service")
                 )
                 // Restaurant Service Routes
                 .route("restaurant-service", r -> r
                         .path("/restaurants/**")
                         .filters(f -> f
                                 .filter(jwtAuthenticationFilter.apply(new JwtAuthenticationFilter.Config()))
+                                .filter(rateLimitingFilter.apply(new RateLimitingFilter.Config(50, 100)))
+                                .filter(responseCacheFilter.apply(new ResponseCacheFilter.Config(30)))
+                                .filter(requestCoalescingFilter.apply(new RequestCoalescingFilter.Config()))
+                                .filter(concurrencyLimitFilter.apply(new AdaptiveConcurrencyLimitFilter.Config()))
+                                .filter(circuitBreakerFilter.apply(new CircuitBreakerFilter.Config()))
                         )
-                        .uri(restaurantServiceUrl)
+                        .uri("lb://restaurant-service")
                 )
                 // Order Service Routes
                 .route("order-service", r -> r
                         .path("/orders/**")
                         .filters(f -> f
                                 .filter(jwtAuthenticationFilter.apply(new JwtAuthenticationFilter.Config()))
+                                .filter(rateLimitingFilter.apply(new RateLimitingFilter.Config(10, 20)))
+                                .filter(concurrencyLimitFilter.apply(new AdaptiveConcurrencyLimitFilter.Config()))
+                                .filter(circuitBreakerFilter.apply(new CircuitBreakerFilter.Config()))
                         )
-                        .uri(orderServiceUrl)
+                        .uri("lb://order-service")
                 )
                 // Delivery Service Routes
                 .route("delivery-service", r -> r
                         .path("/deliveries/**")
                         .filters(f -> f
                                 .filter(jwtAuthenticationFilter.apply(new JwtAuthenticationFilter.Config()))
+                                .filter(rateLimitingFilter.apply(new RateLimitingFilter.Config(20, 40)))
+                                .filter(concurrencyLimitFilter.apply(new AdaptiveConcurrencyLimitFilter.Config()))
+                                .filter(circuitBreakerFilter.apply(new CircuitBreakerFilter.Config()))
                         )
-                        .uri(deliveryServiceUrl)
+                        .uri("lb://delivery-service")
                 )
                 // WebSocket Routes (No Auth)
                 .route("notification-service-ws", r -> r
                         .path("/ws/**")
-                        .uri("ws://localhost:8085")
+                        // Upgrade requests are switched to ws:// by the WebSocket routing filter; SockJS fallbacks stay HTTP
+                        .uri("lb://notification-service")
                 )
                 // Actuator Health endpoint (No Auth)
                 .route("actuator-health", r -> r
@@ -123,6 +181,7 @@ public class GatewayConfig {
         CircuitBreakerConfig config = CircuitBreakerConfig.custom()
                 .failureRateThreshold(50)
                 .slowCallRateThreshold(50)
+                .slowCallDurationThreshold(Duration.ofSeconds(2))
                 .waitDurationInOpenState(Duration.ofSeconds(30))
                 .permittedNumberOfCallsInHalfOpenState(5)
                 .slidingWindowSize(10)
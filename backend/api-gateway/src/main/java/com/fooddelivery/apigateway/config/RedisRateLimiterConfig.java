@@ -4,24 +4,33 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.cloud.gateway.filter.ratelimit.KeyResolver;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
+import org.springframework.scripting.support.ResourceScriptSource;
 import reactor.core.publisher.Mono;
 
 import java.net.InetSocketAddress;
+import java.util.List;
 
 @Configuration
 @Slf4j
 public class RedisRateLimiterConfig {
 
     /**
-     * Configure Redis connection factory
+     * Configure Redis connection factory.
+     * Declared as LettuceConnectionFactory so it also matches ReactiveRedisConnectionFactory injection points
+     * (Boot's reactive Redis auto-configuration backs off because this bean exists).
      */
     @Bean
-    public RedisConnectionFactory redisConnectionFactory() {
+    public LettuceConnectionFactory redisConnectionFactory() {
         log.info("Configuring Redis connection factory");
         return new LettuceConnectionFactory();
     }
@@ -55,6 +64,38 @@ public class RedisRateLimiterConfig {
         return template;
     }
 
+    /**
+     * Non-blocking Redis template used on the request path
+     */
+    @Bean
+    public ReactiveStringRedisTemplate reactiveStringRedisTemplate(ReactiveRedisConnectionFactory connectionFactory) {
+        return new ReactiveStringRedisTemplate(connectionFactory);
+    }
+
+    /**
+     * Atomic token-bucket script: check, consume and expire in a single round trip
+     */
+    @Bean
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public RedisScript<List<Long>> tokenBucketScript() {
+        DefaultRedisScript redisScript = new DefaultRedisScript<>();
+        redisScript.setScriptSource(new ResourceScriptSource(new ClassPathResource("scripts/token_bucket.lua")));
+        redisScript.setResultType(List.class);
+        return redisScript;
+    }
+
+    /**
+     * Batched reconciliation script used by the hybrid (local-first) rate limiter
+     */
+    @Bean
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public RedisScript<List<Long>> tokenBucketReconcileScript() {
+        DefaultRedisScript redisScript = new DefaultRedisScript<>();
+        redisScript.setScriptSource(new ResourceScriptSource(new ClassPathResource("scripts/token_bucket_reconcile.lua")));
+        redisScript.setResultType(List.class);
+        return redisScript;
+    }
+
     /**
      * Key resolver for rate limiter - uses user ID from JWT or IP address
      * Default: 10 requests per second per user
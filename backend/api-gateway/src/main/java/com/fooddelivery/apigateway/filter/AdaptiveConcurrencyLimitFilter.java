@@ -0,0 +1,198 @@
+package com.fooddelivery.apigateway.filter;
+
+import com.fooddelivery.apigateway.util.GatewayUtil;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.SignalType;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Per-route adaptive concurrency limit (gradient algorithm).
+ *
+ * The limit tracks the ratio between the long-term and recent response time: while latency stays near its
+ * baseline the limit grows, and as a downstream slows down and requests start queueing the limit shrinks.
+ * Requests beyond the limit are rejected immediately with 503 instead of piling up in front of a slow service.
+ */
+@Component
+@Slf4j
+public class AdaptiveConcurrencyLimitFilter extends AbstractGatewayFilterFactory<AdaptiveConcurrencyLimitFilter.Config> {
+
+    // Set by filters further down the chain that answer without calling the downstream (e.g. an open circuit breaker)
+    public static final String REJECTED_BY_GATEWAY_ATTR = "rejectedByGateway";
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final Map<String, RouteLimit> limits = new ConcurrentHashMap<>();
+
+    public AdaptiveConcurrencyLimitFilter() {
+        super(Config.class);
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        return (exchange, chain) -> {
+            // Long-lived WebSocket and SSE streams would pin a slot and skew the latency samples
+            if (GatewayUtil.isStreamingRequest(exchange)) {
+                return chain.filter(exchange);
+            }
+
+            Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+            String routeId = route != null ? route.getId() : "default";
+            RouteLimit limit = limits.computeIfAbsent(routeId, id -> createLimit(id, config));
+
+            int inFlight = limit.tryAcquire();
+            if (inFlight < 0) {
+                limit.rejected.increment();
+                log.warn("Concurrency limit {} reached for route: {}", limit.getLimit(), routeId);
+                exchange.getResponse().setStatusCode(HttpStatus.SERVICE_UNAVAILABLE);
+                return exchange.getResponse().setComplete();
+            }
+
+            long start = System.nanoTime();
+            return chain.filter(exchange)
+                    .doFinally(signal -> {
+                        limit.release();
+                        // A client that went away says nothing about the downstream's health
+                        if (signal == SignalType.CANCEL) {
+                            return;
+                        }
+                        // Neither a drop nor a latency sample: the request never reached the downstream
+                        if (Boolean.TRUE.equals(exchange.getAttribute(REJECTED_BY_GATEWAY_ATTR))) {
+                            return;
+                        }
+                        HttpStatusCode status = exchange.getResponse().getStatusCode();
+                        boolean dropped = signal == SignalType.ON_ERROR
+                                || (status != null && status.is5xxServerError());
+                        limit.onSample(System.nanoTime() - start, inFlight, dropped);
+                    });
+        };
+    }
+
+    private RouteLimit createLimit(String routeId, Config config) {
+        RouteLimit limit = new RouteLimit(config,
+                Counter.builder("gateway.concurrency.rejected").tag("route", routeId).register(meterRegistry));
+        Gauge.builder("gateway.concurrency.limit", limit, RouteLimit::getLimit)
+                .tag("route", routeId)
+                .register(meterRegistry);
+        Gauge.builder("gateway.concurrency.in-flight", limit.inFlight, AtomicInteger::get)
+                .tag("route", routeId)
+                .register(meterRegistry);
+        log.info("Created adaptive concurrency limit for route: {} (initial {})", routeId, config.getInitialLimit());
+        return limit;
+    }
+
+    private static final class RouteLimit {
+
+        // Weight of each sample in the short-term and long-term response time averages
+        private static final double SHORT_RTT_ALPHA = 0.1;
+        private static final double LONG_RTT_ALPHA = 1.0 / 600;
+        private static final double SMOOTHING = 0.2;
+        private static final double TOLERANCE = 1.5;
+        private static final double BACKOFF_RATIO = 0.9;
+
+        private final int minLimit;
+
+        private final int maxLimit;
+
+        private final AtomicInteger inFlight = new AtomicInteger();
+
+        private final Counter rejected;
+
+        private volatile double limit;
+
+        private double shortRtt;
+
+        private double longRtt;
+
+        private RouteLimit(Config config, Counter rejected) {
+            this.minLimit = config.getMinLimit();
+            this.maxLimit = config.getMaxLimit();
+            this.limit = config.getInitialLimit();
+            this.rejected = rejected;
+        }
+
+        private double getLimit() {
+            return limit;
+        }
+
+        /**
+         * Returns the in-flight count including this request, or -1 if the limit is reached
+         */
+        private int tryAcquire() {
+            while (true) {
+                int current = inFlight.get();
+                if (current >= (int) limit) {
+                    return -1;
+                }
+                if (inFlight.compareAndSet(current, current + 1)) {
+                    return current + 1;
+                }
+            }
+        }
+
+        private void release() {
+            inFlight.decrementAndGet();
+        }
+
+        private synchronized void onSample(long rttNanos, int inFlightAtStart, boolean dropped) {
+            if (dropped) {
+                limit = Math.max(minLimit, limit * BACKOFF_RATIO);
+                return;
+            }
+
+            double rtt = rttNanos;
+            if (longRtt == 0) {
+                shortRtt = rtt;
+                longRtt = rtt;
+                return;
+            }
+            shortRtt += (rtt - shortRtt) * SHORT_RTT_ALPHA;
+            longRtt += (rtt - longRtt) * LONG_RTT_ALPHA;
+
+            // After a sustained slowdown the baseline catches up slowly; pull it down so recovery is possible
+            if (longRtt / shortRtt > 2) {
+                longRtt *= 0.95;
+            }
+
+            // Not enough traffic to tell whether a higher limit would be safe
+            if (inFlightAtStart < limit / 2) {
+                return;
+            }
+
+            double gradient = Math.max(0.5, Math.min(1.0, TOLERANCE * longRtt / shortRtt));
+            double queueSize = Math.sqrt(limit);
+            double newLimit = limit * gradient + queueSize;
+            newLimit = limit * (1 - SMOOTHING) + newLimit * SMOOTHING;
+            limit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+        }
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Config {
+
+        private int initialLimit = 20;
+
+        private int minLimit = 5;
+
+        private int maxLimit = 200;
+    }
+}
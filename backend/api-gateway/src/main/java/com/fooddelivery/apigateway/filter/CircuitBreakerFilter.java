@@ -1,5 +1,6 @@
 package com.fooddelivery.apigateway.filter;
 
+import com.fooddelivery.apigateway.util.GatewayUtil;
 import io.github.resilience4j.circuitbreaker.CircuitBreaker;
 import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
 import lombok.extern.slf4j.Slf4j;
@@ -7,11 +8,12 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cloud.gateway.filter.GatewayFilter;
 import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
 import org.springframework.stereotype.Component;
 import reactor.core.publisher.Mono;
 
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 
 @Component
@@ -21,7 +23,7 @@ public class CircuitBreakerFilter extends AbstractGatewayFilterFactory<CircuitBr
     @Autowired
     private CircuitBreakerRegistry circuitBreakerRegistry;
 
-    private final Map<String, CircuitBreaker> circuitBreakers = new HashMap<>();
+    private final Map<String, CircuitBreaker> circuitBreakers = new ConcurrentHashMap<>();
 
     public CircuitBreakerFilter() {
         super(Config.class);
@@ -30,24 +32,40 @@ public class CircuitBreakerFilter extends AbstractGatewayFilterFactory<CircuitBr
     @Override
     public GatewayFilter apply(Config config) {
         return (exchange, chain) -> {
+            // A WebSocket or SSE stream's duration is its session length, not a call latency
+            if (GatewayUtil.isStreamingRequest(exchange)) {
+                return chain.filter(exchange);
+            }
+
             String serviceName = getServiceName(exchange.getRequest().getURI().getPath());
             CircuitBreaker circuitBreaker = getOrCreateCircuitBreaker(serviceName);
 
             try {
-                if (circuitBreaker.getState().toString().equals("OPEN")) {
-                    log.warn("Circuit breaker is OPEN for service: {}", serviceName);
+                // tryAcquirePermission also limits trial calls while HALF_OPEN
+                if (!circuitBreaker.tryAcquirePermission()) {
+                    log.warn("Circuit breaker is {} for service: {}", circuitBreaker.getState(), serviceName);
+                    exchange.getAttributes().put(AdaptiveConcurrencyLimitFilter.REJECTED_BY_GATEWAY_ATTR, true);
                     exchange.getResponse().setStatusCode(HttpStatus.SERVICE_UNAVAILABLE);
                     return exchange.getResponse().setComplete();
                 }
 
+                long start = System.nanoTime();
                 return chain.filter(exchange)
                         .doOnError(ex -> {
                             log.error("Error in circuit breaker for service {}: {}", serviceName, ex.getMessage());
-                            circuitBreaker.onError(System.nanoTime(), TimeUnit.NANOSECONDS, ex);
+                            circuitBreaker.onError(System.nanoTime() - start, TimeUnit.NANOSECONDS, ex);
                         })
                         .doOnSuccess(v -> {
-                            circuitBreaker.onSuccess(System.nanoTime(), TimeUnit.NANOSECONDS);
-                        });
+                            long duration = System.nanoTime() - start;
+                            HttpStatusCode status = exchange.getResponse().getStatusCode();
+                            if (status != null && status.is5xxServerError()) {
+                                circuitBreaker.onError(duration, TimeUnit.NANOSECONDS,
+                                        new IllegalStateException(serviceName + " responded " + status.value()));
+                            } else {
+                                circuitBreaker.onSuccess(duration, TimeUnit.NANOSECONDS);
+                            }
+                        })
+                        .doOnCancel(circuitBreaker::releasePermission);
 
             } catch (Exception ex) {
                 log.error("Error processing circuit breaker: {}", ex.getMessage(), ex);
@@ -0,0 +1,211 @@
+package com.fooddelivery.apigateway.filter;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Local-first rate limiter: requests are admitted from in-memory buckets with no Redis call,
+ * and a background loop periodically pushes consumed tokens to the global Redis buckets in one batch.
+ *
+ * After each sync a bucket's local allowance becomes the global remaining tokens divided by the number
+ * of live gateway instances, so the cluster-wide limit holds approximately without a per-request round trip.
+ */
+@Component
+@Slf4j
+public class HybridRateLimiter {
+
+    // Returned by tryAcquire when no local bucket can be created for the key; the caller checks Redis instead
+    public static final long NO_LOCAL_BUCKET = Long.MIN_VALUE;
+
+    private static final String INSTANCES_KEY = "ratelimit:instances";
+
+    @Autowired
+    private ReactiveStringRedisTemplate reactiveRedisTemplate;
+
+    @Autowired
+    private RedisScript<List<Long>> tokenBucketReconcileScript;
+
+    @Value("${rate-limit.hybrid.sync-interval-ms:100}")
+    private long syncIntervalMs;
+
+    @Value("${rate-limit.hybrid.instance-ttl-ms:5000}")
+    private long instanceTtlMs;
+
+    @Value("${rate-limit.hybrid.idle-evict-ms:60000}")
+    private long idleEvictMs;
+
+    // Upper bound on local buckets, so a flood of distinct keys (e.g. spoofed IPs) cannot exhaust memory
+    @Value("${rate-limit.hybrid.max-buckets:100000}")
+    private int maxBuckets;
+
+    // Buckets per script call, so one reconciliation never blocks Redis with a huge EVAL
+    @Value("${rate-limit.hybrid.keys-per-call:500}")
+    private int keysPerCall;
+
+    private final String instanceId = UUID.randomUUID().toString();
+    private final Map<String, LocalBucket> buckets = new ConcurrentHashMap<>();
+
+    // Last known number of live gateway instances; used to size allowances between syncs
+    private volatile long liveInstances = 1;
+
+    // Only touched by the sync loop
+    private long lastSyncAt = System.currentTimeMillis();
+
+    private Disposable syncLoop;
+
+    @PostConstruct
+    public void start() {
+        syncLoop = Flux.interval(Duration.ofMillis(syncIntervalMs))
+                .onBackpressureDrop()
+                .concatMap(tick -> reconcile())
+                .subscribe();
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (syncLoop != null) {
+            syncLoop.dispose();
+        }
+    }
+
+    /**
+     * Try to take one token for key from the local bucket.
+     * Returns the tokens left locally, -1 when the request must be rejected, or NO_LOCAL_BUCKET when the
+     * limiter is full and the key has no bucket yet.
+     */
+    public long tryAcquire(String key, int replenishRate, int burstCapacity) {
+        LocalBucket bucket = buckets.get(key);
+        if (bucket == null) {
+            // Checked loosely: concurrent first requests may overshoot the cap by a few buckets
+            if (buckets.size() >= maxBuckets) {
+                return NO_LOCAL_BUCKET;
+            }
+            bucket = buckets.computeIfAbsent(key,
+                    k -> new LocalBucket(replenishRate, burstCapacity, Math.max(1, burstCapacity / liveInstances)));
+        }
+        bucket.lastUsed = System.currentTimeMillis();
+        return bucket.tryAcquire();
+    }
+
+    private Mono<Void> reconcile() {
+        long now = System.currentTimeMillis();
+        long elapsedMs = now - lastSyncAt;
+        lastSyncAt = now;
+        buckets.entrySet().removeIf(entry -> now - entry.getValue().lastUsed > idleEvictMs
+                && entry.getValue().consumed.get() == 0);
+
+        List<Map.Entry<String, LocalBucket>> entries = new ArrayList<>(buckets.entrySet());
+        List<List<Map.Entry<String, LocalBucket>>> chunks = new ArrayList<>();
+        for (int from = 0; from < entries.size(); from += keysPerCall) {
+            chunks.add(entries.subList(from, Math.min(entries.size(), from + keysPerCall)));
+        }
+        if (chunks.isEmpty()) {
+            // Still heartbeat, so the instance count other gateways see stays right
+            chunks.add(List.of());
+        }
+
+        // One call at a time: every chunk also refreshes this instance's heartbeat
+        return Flux.fromIterable(chunks)
+                .concatMap(chunk -> reconcile(chunk, elapsedMs))
+                .then();
+    }
+
+    private Mono<Void> reconcile(List<Map.Entry<String, LocalBucket>> chunk, long elapsedMs) {
+        List<String> keys = new ArrayList<>(chunk.size() + 1);
+        List<LocalBucket> synced = new ArrayList<>(chunk.size());
+        List<String> args = new ArrayList<>(chunk.size() * 3 + 2);
+        keys.add(INSTANCES_KEY);
+        args.add(instanceId);
+        args.add(String.valueOf(instanceTtlMs));
+
+        for (Map.Entry<String, LocalBucket> entry : chunk) {
+            LocalBucket bucket = entry.getValue();
+            long consumed = bucket.consumed.getAndSet(0);
+            keys.add(entry.getKey());
+            synced.add(bucket);
+            args.add(String.valueOf(bucket.replenishRate));
+            args.add(String.valueOf(bucket.burstCapacity));
+            args.add(String.valueOf(consumed));
+            bucket.pendingReport = consumed;
+        }
+
+        return reactiveRedisTemplate.execute(tokenBucketReconcileScript, keys, args)
+                .next()
+                .timeout(Duration.ofMillis(syncIntervalMs * 5))
+                .doOnNext(result -> {
+                    long instances = Math.max(1, result.get(0));
+                    liveInstances = instances;
+                    for (int i = 0; i < synced.size(); i++) {
+                        synced.get(i).available.set(result.get(i + 1) / instances);
+                    }
+                })
+                .doOnError(ex -> {
+                    // Redis unavailable: keep limiting locally with this instance's share of the refill
+                    log.warn("Rate limit reconciliation failed, continuing with local buckets: {}", ex.getMessage());
+                    for (LocalBucket bucket : synced) {
+                        bucket.consumed.addAndGet(bucket.pendingReport);
+                        bucket.refillLocally(elapsedMs, liveInstances);
+                    }
+                })
+                .onErrorResume(ex -> Mono.empty())
+                .then();
+    }
+
+    private static final class LocalBucket {
+
+        private final int replenishRate;
+
+        private final int burstCapacity;
+
+        private final AtomicLong available;
+
+        private final AtomicLong consumed = new AtomicLong();
+
+        private volatile long lastUsed = System.currentTimeMillis();
+
+        // Only touched by the sync loop
+        private long pendingReport;
+
+        private LocalBucket(int replenishRate, int burstCapacity, long initialAllowance) {
+            this.replenishRate = replenishRate;
+            this.burstCapacity = burstCapacity;
+            this.available = new AtomicLong(initialAllowance);
+        }
+
+        private long tryAcquire() {
+            while (true) {
+                long current = available.get();
+                if (current <= 0) {
+                    return -1;
+                }
+                if (available.compareAndSet(current, current - 1)) {
+                    consumed.incrementAndGet();
+                    return current - 1;
+                }
+            }
+        }
+
+        private void refillLocally(long elapsedMs, long instances) {
+            long share = Math.max(1, replenishRate * elapsedMs / 1000 / instances);
+            long cap = Math.max(1, burstCapacity / instances);
+            available.getAndUpdate(current -> Math.min(cap, current + share));
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.fooddelivery.apigateway.filter;
 
+import com.fooddelivery.apigateway.security.IdentityHeaderSigner;
 import com.fooddelivery.apigateway.security.JwtTokenProvider;
 import io.jsonwebtoken.Claims;
 import lombok.extern.slf4j.Slf4j;
@@ -16,9 +17,14 @@ import reactor.core.publisher.Mono;
 @Slf4j
 public class JwtAuthenticationFilter extends AbstractGatewayFilterFactory<JwtAuthenticationFilter.Config> {
 
+    public static final String AUTHENTICATED_USER_ATTR = "authenticatedUserId";
+
     @Autowired
     private JwtTokenProvider jwtTokenProvider;
 
+    @Autowired
+    private IdentityHeaderSigner identityHeaderSigner;
+
     public JwtAuthenticationFilter() {
         super(Config.class);
     }
@@ -45,21 +51,26 @@ public class JwtAuthenticationFilter extends AbstractGatewayFilterFactory<JwtAut
             try {
                 String token = extractTokenFromHeader(authHeader);
 
-                if (!jwtTokenProvider.validateToken(token)) {
+                // Single verification per request; repeat tokens are served from the verified-claims cache
+                Claims claims = jwtTokenProvider.getVerifiedClaims(token);
+                if (claims == null) {
                     log.warn("Invalid JWT token for path: {}", path);
                     exchange.getResponse().setStatusCode(HttpStatus.UNAUTHORIZED);
                     return exchange.getResponse().setComplete();
                 }
 
-                String username = jwtTokenProvider.getUsernameFromToken(token);
-                Claims claims = jwtTokenProvider.getAllClaimsFromToken(token);
+                String username = claims.getSubject();
 
-                // Add userId to request header for downstream services
+                // Add userId and the signed identity to request headers for downstream services
                 ServerWebExchange modifiedExchange = exchange.mutate()
                         .request(exchange.getRequest().mutate()
-                                .header("X-User-Id", username)
+                                .headers(headers -> {
+                                    headers.set("X-User-Id", username);
+                                    headers.set(IdentityHeaderSigner.IDENTITY_HEADER, identityHeaderSigner.sign(claims));
+                                })
                                 .build())
                         .build();
+                modifiedExchange.getAttributes().put(AUTHENTICATED_USER_ATTR, username);
 
                 log.debug("JWT validated successfully for user: {}", username);
                 return chain.filter(modifiedExchange);
@@ -1,27 +1,42 @@
 package com.fooddelivery.apigateway.filter;
 
+import lombok.Data;
+import lombok.NoArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cloud.gateway.filter.GatewayFilter;
 import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
-import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Component;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 
 import java.net.InetSocketAddress;
-import java.util.concurrent.TimeUnit;
+import java.time.Duration;
+import java.util.List;
 
 @Component
 @Slf4j
 public class RateLimitingFilter extends AbstractGatewayFilterFactory<RateLimitingFilter.Config> {
 
+    private static final String REMAINING_HEADER = "X-RateLimit-Remaining";
+
+    @Autowired
+    private ReactiveStringRedisTemplate reactiveRedisTemplate;
+
     @Autowired
-    private StringRedisTemplate redisTemplate;
+    private RedisScript<List<Long>> tokenBucketScript;
 
-    private static final int REQUESTS_PER_SECOND = 10;
-    private static final long WINDOW_SIZE_SECONDS = 1;
+    @Autowired
+    private HybridRateLimiter hybridRateLimiter;
+
+    @Value("${rate-limit.redis-timeout-ms:50}")
+    private long redisTimeoutMs;
 
     public RateLimitingFilter() {
         super(Config.class);
@@ -29,32 +44,76 @@ public class RateLimitingFilter extends AbstractGatewayFilterFactory<RateLimitin
 
     @Override
     public GatewayFilter apply(Config config) {
+        if (config.getMode() == Mode.HYBRID) {
+            return applyHybrid(config);
+        }
+        return applyExact(config);
+    }
+
+    private GatewayFilter applyExact(Config config) {
+        List<String> scriptArgs = List.of(
+                String.valueOf(config.getReplenishRate()),
+                String.valueOf(config.getBurstCapacity()),
+                "1");
+
         return (exchange, chain) -> {
             String key = getKey(exchange);
 
-            try {
-                if (isRateLimited(key)) {
-                    log.warn("Rate limit exceeded for key: {}", key);
-                    exchange.getResponse().setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
-                    return exchange.getResponse().setComplete();
-                }
+            return reactiveRedisTemplate.execute(tokenBucketScript, List.of(key), scriptArgs)
+                    .next()
+                    .map(result -> {
+                        exchange.getResponse().getHeaders().set(REMAINING_HEADER, String.valueOf(result.get(1)));
+                        return result.get(0) == 1L;
+                    })
+                    // A slow Redis must not hold requests hostage: fail open after the timeout
+                    .timeout(Duration.ofMillis(redisTimeoutMs))
+                    .onErrorResume(ex -> {
+                        // Allow the request to proceed in case of Redis errors
+                        log.error("Error processing rate limiting: {}", ex.getMessage());
+                        return Mono.just(true);
+                    })
+                    .defaultIfEmpty(true)
+                    .flatMap(allowed -> {
+                        if (allowed) {
+                            return chain.filter(exchange);
+                        }
+                        log.warn("Rate limit exceeded for key: {}", key);
+                        exchange.getResponse().setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+                        return exchange.getResponse().setComplete();
+                    });
+        };
+    }
 
-                incrementCounter(key);
-                return chain.filter(exchange);
+    private GatewayFilter applyHybrid(Config config) {
+        GatewayFilter exact = applyExact(config);
+        return (exchange, chain) -> {
+            String key = getKey(exchange);
 
-            } catch (Exception ex) {
-                log.error("Error processing rate limiting: {}", ex.getMessage(), ex);
-                // Allow the request to proceed in case of Redis errors
-                return chain.filter(exchange);
+            // Decided from the in-memory bucket; Redis is reconciled in the background
+            long remaining = hybridRateLimiter.tryAcquire(key, config.getReplenishRate(), config.getBurstCapacity());
+            if (remaining == HybridRateLimiter.NO_LOCAL_BUCKET) {
+                // Too many keys are tracked locally; this one is limited against Redis directly
+                return exact.filter(exchange, chain);
             }
+            if (remaining < 0) {
+                log.warn("Rate limit exceeded for key: {}", key);
+                exchange.getResponse().setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+                return exchange.getResponse().setComplete();
+            }
+
+            exchange.getResponse().getHeaders().set(REMAINING_HEADER, String.valueOf(remaining));
+            return chain.filter(exchange);
         };
     }
 
     private String getKey(ServerWebExchange exchange) {
-        // Try to get user ID from JWT
-        String userId = exchange.getRequest().getHeaders().getFirst("X-User-Id");
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        String routeId = route != null ? route.getId() : "default";
+
+        // Only trust the user id the JWT filter verified, never a client-supplied header
+        String userId = exchange.getAttribute(JwtAuthenticationFilter.AUTHENTICATED_USER_ATTR);
         if (userId != null && !userId.isEmpty()) {
-            return "ratelimit:" + userId;
+            return "ratelimit:" + routeId + ":" + userId;
         }
 
         // Fallback to IP address
@@ -63,31 +122,36 @@ public class RateLimitingFilter extends AbstractGatewayFilterFactory<RateLimitin
                 ? remoteAddress.getAddress().getHostAddress()
                 : "unknown";
 
-        return "ratelimit:" + ipAddress;
+        return "ratelimit:" + routeId + ":" + ipAddress;
     }
 
-    private boolean isRateLimited(String key) {
-        Long currentRequests = redisTemplate.opsForValue().increment(key);
+    public enum Mode {
+        // Every request consults the global Redis bucket
+        EXACT,
+        // Requests are admitted from local buckets; Redis is reconciled in batches
+        HYBRID
+    }
 
-        if (currentRequests == null) {
-            return false;
-        }
+    @Data
+    @NoArgsConstructor
+    public static class Config {
 
-        if (currentRequests == 1) {
-            // First request in this window, set expiration
-            redisTemplate.expire(key, WINDOW_SIZE_SECONDS, TimeUnit.SECONDS);
-        }
+        // Tokens added per second
+        private int replenishRate = 10;
 
-        return currentRequests > REQUESTS_PER_SECOND;
-    }
+        // Maximum tokens a bucket can hold, i.e. the allowed burst
+        private int burstCapacity = 20;
+
+        private Mode mode = Mode.HYBRID;
 
-    private void incrementCounter(String key) {
-        Long currentValue = redisTemplate.opsForValue().increment(key);
-        if (currentValue != null && currentValue == 1) {
-            redisTemplate.expire(key, WINDOW_SIZE_SECONDS, TimeUnit.SECONDS);
+        public Config(int replenishRate, int burstCapacity) {
+            this.replenishRate = replenishRate;
+            this.burstCapacity = burstCapacity;
         }
-    }
 
-    public static class Config {
+        public Config(int replenishRate, int burstCapacity, Mode mode) {
+            this(replenishRate, burstCapacity);
+            this.mode = mode;
+        }
     }
 }
@@ -0,0 +1,191 @@
+package com.fooddelivery.apigateway.filter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.reactivestreams.Publisher;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Collapses concurrent identical GETs into a single upstream call (single-flight).
+ *
+ * The first request for a key goes upstream; requests for the same key arriving while it is in flight
+ * wait for its response and receive a copy. Only 200 responses are shared; for anything else the waiters
+ * make their own call. Only apply this to routes whose responses do not depend on the caller.
+ */
+@Component
+@Slf4j
+public class RequestCoalescingFilter extends AbstractGatewayFilterFactory<RequestCoalescingFilter.Config> {
+
+    // Connection-specific or recomputed per response, so never copied to waiters
+    private static final Set<String> UNSHARED_HEADERS = Set.of(
+            HttpHeaders.CONTENT_LENGTH.toLowerCase(),
+            HttpHeaders.TRANSFER_ENCODING.toLowerCase(),
+            HttpHeaders.CONNECTION.toLowerCase(),
+            HttpHeaders.SET_COOKIE.toLowerCase());
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final Map<String, Sinks.One<SharedResponse>> inFlight = new ConcurrentHashMap<>();
+
+    private Counter leaders;
+
+    private Counter followers;
+
+    public RequestCoalescingFilter() {
+        super(Config.class);
+    }
+
+    @PostConstruct
+    public void init() {
+        leaders = Counter.builder("gateway.coalescing.requests").tag("role", "leader").register(meterRegistry);
+        followers = Counter.builder("gateway.coalescing.requests").tag("role", "follower").register(meterRegistry);
+        // Share of GETs answered without an upstream call of their own
+        Gauge.builder("gateway.coalescing.ratio", this, RequestCoalescingFilter::coalescingRatio)
+                .register(meterRegistry);
+        Gauge.builder("gateway.coalescing.in-flight", inFlight, Map::size)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        return (exchange, chain) -> {
+            ServerHttpRequest request = exchange.getRequest();
+            if (request.getMethod() != HttpMethod.GET) {
+                return chain.filter(exchange);
+            }
+
+            String key = coalescingKey(request, config.getVaryHeaders());
+            Sinks.One<SharedResponse> sink = Sinks.one();
+            Sinks.One<SharedResponse> existing = inFlight.putIfAbsent(key, sink);
+
+            if (existing != null) {
+                followers.increment();
+                return existing.asMono()
+                        .map(Optional::of)
+                        .defaultIfEmpty(Optional.empty())
+                        .flatMap(shared -> shared.isPresent()
+                                ? writeShared(exchange, shared.get())
+                                : chain.filter(exchange));
+            }
+
+            leaders.increment();
+            ServerHttpResponseDecorator capturing = new ServerHttpResponseDecorator(exchange.getResponse()) {
+                @Override
+                public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+                    HttpStatusCode status = getStatusCode();
+                    if (status == null || status.value() != HttpStatus.OK.value()) {
+                        release(key, sink);
+                        return super.writeWith(body);
+                    }
+
+                    // join emits nothing for an empty body; share it as an empty one so the response still completes
+                    return DataBufferUtils.join(Flux.from(body))
+                            .switchIfEmpty(Mono.fromSupplier(() -> bufferFactory().wrap(new byte[0])))
+                            .flatMap(joined -> {
+                                byte[] bytes = new byte[joined.readableByteCount()];
+                                joined.read(bytes);
+                                DataBufferUtils.release(joined);
+
+                                HttpHeaders headers = new HttpHeaders();
+                                getHeaders().forEach(headers::addAll);
+
+                                // Stop accepting followers before publishing so none can miss the result
+                                inFlight.remove(key, sink);
+                                sink.tryEmitValue(new SharedResponse(headers, bytes));
+                                return super.writeWith(Mono.just(bufferFactory().wrap(bytes)));
+                            });
+                }
+            };
+
+            // Errors, cancellation and body-less responses leave followers to make their own call
+            return chain.filter(exchange.mutate().response(capturing).build())
+                    .doFinally(signal -> release(key, sink));
+        };
+    }
+
+    private void release(String key, Sinks.One<SharedResponse> sink) {
+        inFlight.remove(key, sink);
+        sink.tryEmitEmpty();
+    }
+
+    private Mono<Void> writeShared(ServerWebExchange exchange, SharedResponse shared) {
+        ServerHttpResponse response = exchange.getResponse();
+        HttpHeaders headers = response.getHeaders();
+        shared.headers.forEach((name, values) -> {
+            // Headers set earlier in this exchange's own chain (e.g. X-RateLimit-Remaining) take precedence
+            if (!UNSHARED_HEADERS.contains(name.toLowerCase()) && !headers.containsKey(name)) {
+                headers.put(name, values);
+            }
+        });
+        response.setStatusCode(HttpStatus.OK);
+        headers.setContentLength(shared.body.length);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(shared.body)));
+    }
+
+    private String coalescingKey(ServerHttpRequest request, List<String> varyHeaders) {
+        StringBuilder key = new StringBuilder(request.getURI().getRawPath());
+        String query = request.getURI().getRawQuery();
+        if (query != null) {
+            key.append('?').append(query);
+        }
+        for (String header : varyHeaders) {
+            key.append('|').append(header).append('=').append(request.getHeaders().getOrEmpty(header));
+        }
+        return key.toString();
+    }
+
+    private double coalescingRatio() {
+        double total = leaders.count() + followers.count();
+        return total == 0 ? 0 : followers.count() / total;
+    }
+
+    private static final class SharedResponse {
+
+        private final HttpHeaders headers;
+
+        private final byte[] body;
+
+        private SharedResponse(HttpHeaders headers, byte[] body) {
+            this.headers = headers;
+            this.body = body;
+        }
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Config {
+
+        // Request headers that can change the response body and so must be part of the key
+        private List<String> varyHeaders = List.of(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_LANGUAGE);
+    }
+}
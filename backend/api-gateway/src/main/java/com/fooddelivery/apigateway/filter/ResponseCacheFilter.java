@@ -0,0 +1,187 @@
+package com.fooddelivery.apigateway.filter;
+
+import com.fooddelivery.apigateway.cache.ResponseCache;
+import com.fooddelivery.apigateway.cache.ResponseCache.CachedResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.reactivestreams.Publisher;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Serves repeated GETs from the gateway's response cache with strong ETags.
+ *
+ * A matching If-None-Match is answered with 304 without contacting the downstream service.
+ * Entries expire after the route's TTL and are invalidated early by writes through the route
+ * and by restaurant.events (see RestaurantCacheInvalidationListener).
+ */
+@Component
+@Slf4j
+public class ResponseCacheFilter extends AbstractGatewayFilterFactory<ResponseCacheFilter.Config> {
+
+    private static final String CACHE_HEADER = "X-Cache";
+
+    private static final Pattern RESTAURANT_PATH = Pattern.compile("^/restaurants/(\\d+)(/.*)?$");
+
+    @Autowired
+    private ResponseCache responseCache;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Counter hits;
+
+    private Counter misses;
+
+    private Counter notModified;
+
+    public ResponseCacheFilter() {
+        super(Config.class);
+    }
+
+    @PostConstruct
+    public void init() {
+        hits = Counter.builder("gateway.cache.requests").tag("result", "hit").register(meterRegistry);
+        misses = Counter.builder("gateway.cache.requests").tag("result", "miss").register(meterRegistry);
+        notModified = Counter.builder("gateway.cache.requests").tag("result", "not-modified").register(meterRegistry);
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        long ttlMs = config.getTtlSeconds() * 1000L;
+
+        return (exchange, chain) -> {
+            ServerHttpRequest request = exchange.getRequest();
+            Long restaurantId = restaurantIdOf(request.getURI().getRawPath());
+
+            if (request.getMethod() != HttpMethod.GET) {
+                // Drop this instance's copies right away; other instances catch up from restaurant.events
+                return chain.filter(exchange)
+                        .doOnSuccess(v -> {
+                            HttpStatusCode status = exchange.getResponse().getStatusCode();
+                            if (status != null && status.is2xxSuccessful()) {
+                                responseCache.invalidate(restaurantId, true);
+                            }
+                        });
+            }
+
+            String key = cacheKey(request);
+            long now = System.currentTimeMillis();
+            CachedResponse cached = responseCache.get(key, now);
+            if (cached != null) {
+                return writeCached(exchange, cached);
+            }
+
+            misses.increment();
+            long generation = responseCache.generation();
+            ServerHttpResponse response = exchange.getResponse();
+            ServerHttpResponseDecorator caching = new ServerHttpResponseDecorator(response) {
+                @Override
+                public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+                    HttpStatusCode status = getStatusCode();
+                    HttpHeaders headers = getHeaders();
+                    if (status == null || status.value() != HttpStatus.OK.value()
+                            || headers.containsKey(HttpHeaders.SET_COOKIE)
+                            || headers.getContentLength() > responseCache.getMaxEntryBytes()) {
+                        return super.writeWith(body);
+                    }
+
+                    // join emits nothing for an empty body; cache it as an empty entry so the response still completes
+                    return DataBufferUtils.join(Flux.from(body))
+                            .switchIfEmpty(Mono.fromSupplier(() -> bufferFactory().wrap(new byte[0])))
+                            .flatMap(joined -> {
+                                byte[] bytes = new byte[joined.readableByteCount()];
+                                joined.read(bytes);
+                                DataBufferUtils.release(joined);
+
+                                String etag = ResponseCache.etagOf(bytes);
+                                setCacheHeaders(headers, etag, "MISS");
+                                responseCache.put(key, new CachedResponse(bytes, headers.getContentType(), etag,
+                                        restaurantId, now + ttlMs), generation);
+                                return super.writeWith(Mono.just(bufferFactory().wrap(bytes)));
+                            });
+                }
+            };
+            return chain.filter(exchange.mutate().response(caching).build());
+        };
+    }
+
+    private Mono<Void> writeCached(ServerWebExchange exchange, CachedResponse cached) {
+        ServerHttpResponse response = exchange.getResponse();
+        setCacheHeaders(response.getHeaders(), cached.getEtag(), "HIT");
+
+        if (matches(exchange.getRequest().getHeaders().getIfNoneMatch(), cached.getEtag())) {
+            notModified.increment();
+            response.setStatusCode(HttpStatus.NOT_MODIFIED);
+            return response.setComplete();
+        }
+
+        hits.increment();
+        response.setStatusCode(HttpStatus.OK);
+        if (cached.getContentType() != null) {
+            response.getHeaders().setContentType(cached.getContentType());
+        }
+        response.getHeaders().setContentLength(cached.getBody().length);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(cached.getBody())));
+    }
+
+    private void setCacheHeaders(HttpHeaders headers, String etag, String result) {
+        headers.setETag(etag);
+        headers.set(CACHE_HEADER, result);
+        // Replace the downstream's no-store default so clients keep the body and revalidate with If-None-Match
+        headers.setCacheControl("no-cache");
+        headers.remove(HttpHeaders.PRAGMA);
+        headers.remove(HttpHeaders.EXPIRES);
+    }
+
+    private boolean matches(List<String> ifNoneMatch, String etag) {
+        for (String candidate : ifNoneMatch) {
+            if ("*".equals(candidate) || etag.equals(candidate) || ("W/" + etag).equals(candidate)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private String cacheKey(ServerHttpRequest request) {
+        String query = request.getURI().getRawQuery();
+        return query != null ? request.getURI().getRawPath() + "?" + query : request.getURI().getRawPath();
+    }
+
+    private Long restaurantIdOf(String path) {
+        Matcher matcher = RESTAURANT_PATH.matcher(path);
+        return matcher.matches() ? Long.valueOf(matcher.group(1)) : null;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Config {
+
+        // How long a cached response may be served without asking the downstream service
+        private int ttlSeconds = 30;
+    }
+}
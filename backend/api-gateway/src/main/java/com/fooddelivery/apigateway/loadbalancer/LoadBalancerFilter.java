@@ -0,0 +1,89 @@
+package com.fooddelivery.apigateway.loadbalancer;
+
+import com.fooddelivery.apigateway.filter.AdaptiveConcurrencyLimitFilter;
+import com.fooddelivery.apigateway.util.GatewayUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.RouteToRequestUrlFilter;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.net.URI;
+
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.addOriginalRequestUrl;
+
+/**
+ * Resolves lb://{serviceId} route URLs to a concrete instance from ServiceInstancePool
+ * and reports each request's outcome back for passive health tracking.
+ */
+@Component
+@Slf4j
+public class LoadBalancerFilter implements GlobalFilter, Ordered {
+
+    public static final String LB_SCHEME = "lb";
+
+    @Autowired
+    private ServiceInstancePool instancePool;
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        URI url = exchange.getAttribute(GATEWAY_REQUEST_URL_ATTR);
+        if (url == null || !LB_SCHEME.equals(url.getScheme())) {
+            return chain.filter(exchange);
+        }
+
+        String serviceId = url.getHost();
+        ServiceInstancePool.Instance instance = instancePool.choose(serviceId);
+        if (instance == null) {
+            log.error("No instances registered for service: {}", serviceId);
+            exchange.getAttributes().put(AdaptiveConcurrencyLimitFilter.REJECTED_BY_GATEWAY_ATTR, true);
+            exchange.getResponse().setStatusCode(HttpStatus.SERVICE_UNAVAILABLE);
+            return exchange.getResponse().setComplete();
+        }
+
+        URI target = instance.getUri();
+        URI requestUrl = UriComponentsBuilder.fromUri(url)
+                .scheme(target.getScheme())
+                .host(target.getHost())
+                .port(target.getPort())
+                .build(true)
+                .toUri();
+        addOriginalRequestUrl(exchange, url);
+        exchange.getAttributes().put(GATEWAY_REQUEST_URL_ATTR, requestUrl);
+
+        // A WebSocket or SSE session lasts as long as the client stays connected: counting it as outstanding or
+        // recording its duration as latency would skew instance choice and eject healthy instances
+        if (GatewayUtil.isStreamingRequest(exchange)) {
+            return chain.filter(exchange);
+        }
+
+        instance.acquire();
+        long start = System.nanoTime();
+        return chain.filter(exchange)
+                .doFinally(signal -> {
+                    instance.release();
+                    if (signal == SignalType.CANCEL) {
+                        return;
+                    }
+                    HttpStatusCode status = exchange.getResponse().getStatusCode();
+                    boolean failed = signal == SignalType.ON_ERROR
+                            || (status != null && status.is5xxServerError());
+                    instancePool.record(instance, System.nanoTime() - start, failed);
+                });
+    }
+
+    @Override
+    public int getOrder() {
+        // Right after the route URI has been merged into the request URL
+        return RouteToRequestUrlFilter.ROUTE_TO_URL_FILTER_ORDER + 1;
+    }
+}
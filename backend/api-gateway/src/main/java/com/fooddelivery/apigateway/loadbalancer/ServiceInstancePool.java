@@ -0,0 +1,240 @@
+package com.fooddelivery.apigateway.loadbalancer;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Instances behind each downstream service, with passive health tracking.
+ *
+ * Instances are picked with power-of-two-choices on outstanding requests. Instances that keep failing
+ * or whose latency average exceeds the slow-call threshold are ejected for a while, never more than
+ * max-ejection-percent of a pool at once.
+ */
+@Component
+@Slf4j
+public class ServiceInstancePool {
+
+    // Weight of each sample in an instance's latency average
+    private static final double LATENCY_ALPHA = 0.2;
+
+    // Latency samples needed before an instance can be ejected as slow
+    private static final int MIN_LATENCY_SAMPLES = 10;
+
+    // Cap on how much repeated ejections lengthen the ejection time
+    private static final int MAX_EJECTION_MULTIPLIER = 5;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${gateway.lb.consecutive-failures:5}")
+    private int consecutiveFailures;
+
+    @Value("${gateway.lb.slow-call-threshold-ms:2000}")
+    private long slowCallThresholdMs;
+
+    @Value("${gateway.lb.base-ejection-ms:30000}")
+    private long baseEjectionMs;
+
+    @Value("${gateway.lb.max-ejection-percent:50}")
+    private int maxEjectionPercent;
+
+    private final Map<String, List<Instance>> pools = new ConcurrentHashMap<>();
+
+    /**
+     * Register the instances of a service from a comma-separated list of base URLs
+     */
+    public void register(String serviceId, String urls) {
+        List<Instance> instances = new ArrayList<>();
+        for (String url : urls.split(",")) {
+            if (url.isBlank()) {
+                continue;
+            }
+            Instance instance = new Instance(serviceId, URI.create(url.trim()),
+                    Counter.builder("gateway.lb.ejections")
+                            .tag("service", serviceId)
+                            .tag("instance", url.trim())
+                            .register(meterRegistry));
+            Gauge.builder("gateway.lb.outstanding", instance.outstanding, AtomicInteger::get)
+                    .tag("service", serviceId)
+                    .tag("instance", url.trim())
+                    .register(meterRegistry);
+            instances.add(instance);
+        }
+        if (instances.isEmpty()) {
+            throw new IllegalArgumentException("No instances configured for service: " + serviceId);
+        }
+        pools.put(serviceId, List.copyOf(instances));
+        log.info("Registered {} instance(s) for service {}: {}", instances.size(), serviceId, urls);
+    }
+
+    /**
+     * Pick an instance for the next request, or null if the service is unknown
+     */
+    public Instance choose(String serviceId) {
+        List<Instance> all = pools.get(serviceId);
+        if (all == null) {
+            return null;
+        }
+        if (all.size() == 1) {
+            return all.get(0);
+        }
+
+        long now = System.currentTimeMillis();
+        List<Instance> candidates = new ArrayList<>(all.size());
+        for (Instance instance : all) {
+            if (!instance.isEjected(now)) {
+                candidates.add(instance);
+            }
+        }
+        // Every instance ejected: spreading load over all of them beats failing every request
+        if (candidates.isEmpty()) {
+            candidates = all;
+        }
+        if (candidates.size() == 1) {
+            return candidates.get(0);
+        }
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(candidates.size());
+        int second = random.nextInt(candidates.size() - 1);
+        if (second >= first) {
+            second++;
+        }
+        Instance a = candidates.get(first);
+        Instance b = candidates.get(second);
+        int outstandingA = a.outstanding.get();
+        int outstandingB = b.outstanding.get();
+        if (outstandingA != outstandingB) {
+            return outstandingA < outstandingB ? a : b;
+        }
+        return a.latencyMs <= b.latencyMs ? a : b;
+    }
+
+    /**
+     * Record the outcome of a request sent to instance
+     */
+    public void record(Instance instance, long durationNanos, boolean failed) {
+        long now = System.currentTimeMillis();
+        boolean eject;
+        synchronized (instance) {
+            if (failed) {
+                instance.failures++;
+                eject = instance.failures >= consecutiveFailures;
+            } else {
+                instance.failures = 0;
+                double latencyMs = durationNanos / 1_000_000.0;
+                instance.latencyMs = instance.samples == 0
+                        ? latencyMs
+                        : instance.latencyMs + (latencyMs - instance.latencyMs) * LATENCY_ALPHA;
+                instance.samples++;
+                eject = instance.samples >= MIN_LATENCY_SAMPLES && instance.latencyMs > slowCallThresholdMs;
+
+                // Healthy again for a full base ejection period: forget earlier ejections
+                if (!eject && instance.ejections > 0 && now > instance.ejectedUntil + baseEjectionMs) {
+                    instance.ejections = 0;
+                }
+            }
+            if (!eject) {
+                instance.ejectionDeferred = false;
+            }
+        }
+        if (eject) {
+            tryEject(instance, now, failed ? "consecutive failures" : "slow responses");
+        }
+    }
+
+    private void tryEject(Instance instance, long now, String reason) {
+        List<Instance> pool = pools.get(instance.serviceId);
+        if (pool == null || pool.size() == 1) {
+            return;
+        }
+        synchronized (pool) {
+            if (instance.isEjected(now)) {
+                return;
+            }
+            long ejected = pool.stream().filter(i -> i.isEjected(now)).count();
+            if ((ejected + 1) * 100 > (long) pool.size() * maxEjectionPercent) {
+                // Every further response from the instance would hit this again; log only when it starts
+                synchronized (instance) {
+                    if (!instance.ejectionDeferred) {
+                        instance.ejectionDeferred = true;
+                        log.warn("Not ejecting {} instance {}: ejection limit reached", instance.serviceId, instance.uri);
+                    }
+                }
+                return;
+            }
+            synchronized (instance) {
+                instance.ejectionDeferred = false;
+                instance.ejections++;
+                long ejectionMs = baseEjectionMs * Math.min(instance.ejections, MAX_EJECTION_MULTIPLIER);
+                instance.ejectedUntil = now + ejectionMs;
+                // Start fresh when the instance comes back
+                instance.failures = 0;
+                instance.samples = 0;
+                instance.latencyMs = 0;
+                instance.ejectionCounter.increment();
+                log.warn("Ejected {} instance {} for {} ms due to {}", instance.serviceId, instance.uri, ejectionMs, reason);
+            }
+        }
+    }
+
+    public static final class Instance {
+
+        private final String serviceId;
+
+        private final URI uri;
+
+        private final Counter ejectionCounter;
+
+        private final AtomicInteger outstanding = new AtomicInteger();
+
+        private volatile double latencyMs;
+
+        private volatile long ejectedUntil;
+
+        // Guarded by the instance's monitor
+        private int failures;
+
+        private int samples;
+
+        private int ejections;
+
+        // Due for ejection but held back by max-ejection-percent
+        private boolean ejectionDeferred;
+
+        private Instance(String serviceId, URI uri, Counter ejectionCounter) {
+            this.serviceId = serviceId;
+            this.uri = uri;
+            this.ejectionCounter = ejectionCounter;
+        }
+
+        public URI getUri() {
+            return uri;
+        }
+
+        public void acquire() {
+            outstanding.incrementAndGet();
+        }
+
+        public void release() {
+            outstanding.decrementAndGet();
+        }
+
+        private boolean isEjected(long now) {
+            return now < ejectedUntil;
+        }
+    }
+}
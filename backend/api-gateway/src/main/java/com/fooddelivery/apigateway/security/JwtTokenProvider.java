@@ -1,14 +1,22 @@
 package com.fooddelivery.apigateway.security;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Component
 @Slf4j
@@ -20,8 +28,60 @@ public class JwtTokenProvider {
     @Value("${jwt.expiration}")
     private long jwtExpirationInMs;
 
-    public String getUsernameFromToken(String token) {
+    @Value("${jwt.claims-cache.max-size:10000}")
+    private int claimsCacheMaxSize;
+
+    @Value("${jwt.claims-cache.max-ttl-ms:300000}")
+    private long claimsCacheMaxTtlMs;
+
+    // Key and parser are immutable and thread-safe, so they are built once
+    private JwtParser jwtParser;
+
+    // SHA-256(token) -> verified claims; only successfully verified tokens are cached
+    private final Map<String, CachedClaims> claimsCache = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void init() {
+        SecretKey signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+        jwtParser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
+    }
+
+    /**
+     * Verify the token once and return its claims, or null if it is invalid or expired.
+     * Verified claims are cached until the token expires (capped by jwt.claims-cache.max-ttl-ms).
+     */
+    public Claims getVerifiedClaims(String token) {
+        String digest = digest(token);
+        long now = System.currentTimeMillis();
+
+        CachedClaims cached = claimsCache.get(digest);
+        if (cached != null) {
+            if (now < cached.expiresAt) {
+                return cached.claims;
+            }
+            claimsCache.remove(digest, cached);
+        }
+
         Claims claims = getAllClaimsFromToken(token);
+        if (claims == null) {
+            return null;
+        }
+
+        long expiresAt = now + claimsCacheMaxTtlMs;
+        Date expiration = claims.getExpiration();
+        if (expiration != null) {
+            expiresAt = Math.min(expiresAt, expiration.getTime());
+        }
+        if (expiresAt > now && hasRoomFor(now)) {
+            claimsCache.put(digest, new CachedClaims(claims, expiresAt));
+        }
+        return claims;
+    }
+
+    public String getUsernameFromToken(String token) {
+        Claims claims = getVerifiedClaims(token);
         if (claims != null) {
             return claims.getSubject();
         }
@@ -29,33 +89,45 @@ public class JwtTokenProvider {
     }
 
     public boolean validateToken(String token) {
+        return getVerifiedClaims(token) != null;
+    }
+
+    public Claims getAllClaimsFromToken(String token) {
         try {
-            Jwts.parserBuilder() // Fixed: changed from parser()
-                    .setSigningKey(getSigningKey()) // Fixed: changed from verifyWith()
-                    .build()
-                    .parseClaimsJws(token); // Fixed: changed from parseSignedClaims()
-            return true;
+            return jwtParser.parseClaimsJws(token).getBody();
         } catch (Exception ex) {
             log.error("Invalid JWT token: {}", ex.getMessage());
+            return null;
         }
-        return false;
     }
 
-    public Claims getAllClaimsFromToken(String token) {
+    private boolean hasRoomFor(long now) {
+        if (claimsCache.size() < claimsCacheMaxSize) {
+            return true;
+        }
+        // Full: drop expired entries; if that frees nothing, serve uncached rather than grow
+        claimsCache.values().removeIf(entry -> entry.expiresAt <= now);
+        return claimsCache.size() < claimsCacheMaxSize;
+    }
+
+    private String digest(String token) {
         try {
-            return Jwts.parserBuilder() // Fixed
-                    .setSigningKey(getSigningKey()) // Fixed
-                    .build()
-                    .parseClaimsJws(token) // Fixed
-                    .getBody(); // Fixed: changed from getPayload()
-        } catch (Exception ex) {
-            log.error("Error extracting claims from token: {}", ex.getMessage());
-            return null;
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
         }
     }
 
-    private SecretKey getSigningKey() {
-        byte[] keyBytes = jwtSecret.getBytes(StandardCharsets.UTF_8);
-        return Keys.hmacShaKeyFor(keyBytes);
+    private static final class CachedClaims {
+
+        private final Claims claims;
+
+        private final long expiresAt;
+
+        private CachedClaims(Claims claims, long expiresAt) {
+            this.claims = claims;
+            this.expiresAt = expiresAt;
+        }
     }
-}
\ No newline at end of file
+}
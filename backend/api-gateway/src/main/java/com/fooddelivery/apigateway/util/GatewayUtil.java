@@ -1,6 +1,8 @@
 package com.fooddelivery.apigateway.util;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.web.server.ServerWebExchange;
 
 import java.net.InetSocketAddress;
@@ -40,6 +42,16 @@ public class GatewayUtil {
         return "unknown";
     }
 
+    /**
+     * Check if the request opens a long-lived stream (WebSocket upgrade or server-sent events),
+     * whose duration is a session length rather than a call latency
+     */
+    public static boolean isStreamingRequest(ServerWebExchange exchange) {
+        HttpHeaders headers = exchange.getRequest().getHeaders();
+        return "websocket".equalsIgnoreCase(headers.getFirst(HttpHeaders.UPGRADE))
+                || String.valueOf(headers.getFirst(HttpHeaders.ACCEPT)).contains(MediaType.TEXT_EVENT_STREAM_VALUE);
+    }
+
     /**
      * Check if path requires authentication
      */
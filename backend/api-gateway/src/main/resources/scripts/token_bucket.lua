@@ -0,0 +1,35 @@
+-- Token bucket rate limiter, evaluated atomically in one round trip.
+-- KEYS[1]  bucket hash (fields: tokens, ts)
+-- ARGV[1]  replenish rate, tokens per second
+-- ARGV[2]  burst capacity
+-- ARGV[3]  tokens requested
+-- Returns { allowed (1/0), tokens remaining }
+
+local rate = tonumber(ARGV[1])
+local capacity = tonumber(ARGV[2])
+local requested = tonumber(ARGV[3])
+
+local time = redis.call('TIME')
+local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+
+local bucket = redis.call('HMGET', KEYS[1], 'tokens', 'ts')
+local tokens = tonumber(bucket[1])
+local ts = tonumber(bucket[2])
+if tokens == nil or ts == nil then
+    tokens = capacity
+    ts = now
+end
+
+tokens = math.min(capacity, tokens + math.max(0, now - ts) * rate / 1000)
+
+local allowed = 0
+if tokens >= requested then
+    tokens = tokens - requested
+    allowed = 1
+end
+
+redis.call('HSET', KEYS[1], 'tokens', tostring(tokens), 'ts', now)
+-- An idle bucket is full again after capacity / rate seconds, so it can expire then
+redis.call('PEXPIRE', KEYS[1], math.ceil(capacity * 1000 / rate) + 1000)
+
+return { allowed, math.floor(tokens) }
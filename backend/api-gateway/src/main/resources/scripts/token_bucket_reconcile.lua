@@ -0,0 +1,43 @@
+-- Batched reconciliation of locally consumed tokens against the global token buckets.
+-- KEYS[1]     sorted set of live gateway instances (score = last heartbeat)
+-- KEYS[2..n]  bucket hashes (fields: tokens, ts), same layout as token_bucket.lua
+-- ARGV[1]     this instance id
+-- ARGV[2]     instance liveness window in ms
+-- ARGV[3..]   one (replenish rate, burst capacity, consumed) triple per bucket key
+-- Returns { live instance count, remaining tokens per bucket... }
+
+local time = redis.call('TIME')
+local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+local liveness = tonumber(ARGV[2])
+
+redis.call('ZADD', KEYS[1], now, ARGV[1])
+redis.call('ZREMRANGEBYSCORE', KEYS[1], '-inf', now - liveness)
+redis.call('PEXPIRE', KEYS[1], liveness * 2)
+
+local result = { redis.call('ZCARD', KEYS[1]) }
+
+for i = 2, #KEYS do
+    local base = 3 + (i - 2) * 3
+    local rate = tonumber(ARGV[base])
+    local capacity = tonumber(ARGV[base + 1])
+    local consumed = tonumber(ARGV[base + 2])
+
+    local bucket = redis.call('HMGET', KEYS[i], 'tokens', 'ts')
+    local tokens = tonumber(bucket[1])
+    local ts = tonumber(bucket[2])
+    if tokens == nil or ts == nil then
+        tokens = capacity
+        ts = now
+    end
+
+    tokens = math.min(capacity, tokens + math.max(0, now - ts) * rate / 1000)
+    -- Instances may have overshot between syncs; the bucket just runs dry
+    tokens = math.max(0, tokens - consumed)
+
+    redis.call('HSET', KEYS[i], 'tokens', tostring(tokens), 'ts', now)
+    redis.call('PEXPIRE', KEYS[i], math.ceil(capacity * 1000 / rate) + 1000)
+
+    result[i] = math.floor(tokens)
+end
+
+return result
@@ -0,0 +1,98 @@
+package com.fooddelivery.apigateway.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Per-request token verification in the gateway: a full signature check against a claims cache hit,
+ * over a pool of tokens from concurrently active users.
+ *
+ * Run with: mvn test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=java
+ *   "-Dexec.args=-cp %classpath com.fooddelivery.apigateway.security.JwtTokenProviderBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(1)
+public class JwtTokenProviderBenchmark {
+
+    private static final String SECRET = "benchmark-secret-key-that-is-at-least-256-bits-long-for-hs256";
+
+    @Param({"1000"})
+    private int activeUsers;
+
+    private JwtTokenProvider tokenProvider;
+    private String[] tokens;
+    private final AtomicInteger next = new AtomicInteger();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        tokenProvider = new JwtTokenProvider();
+        ReflectionTestUtils.setField(tokenProvider, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(tokenProvider, "claimsCacheMaxSize", activeUsers * 2);
+        ReflectionTestUtils.setField(tokenProvider, "claimsCacheMaxTtlMs", 300000L);
+        tokenProvider.init();
+
+        Date expiration = new Date(System.currentTimeMillis() + TimeUnit.HOURS.toMillis(1));
+        tokens = new String[activeUsers];
+        for (int i = 0; i < activeUsers; i++) {
+            tokens[i] = Jwts.builder()
+                    .setSubject("user" + i + "@example.com")
+                    .claim("userId", i)
+                    .claim("role", "CUSTOMER")
+                    .setIssuedAt(new Date())
+                    .setExpiration(expiration)
+                    .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                    .compact();
+            // Warm the cache as a user's first request would
+            tokenProvider.getVerifiedClaims(tokens[i]);
+        }
+    }
+
+    @Benchmark
+    public Claims verifySignature() {
+        return tokenProvider.getAllClaimsFromToken(nextToken());
+    }
+
+    @Benchmark
+    public Claims cachedClaims() {
+        return tokenProvider.getVerifiedClaims(nextToken());
+    }
+
+    private String nextToken() {
+        return tokens[Math.floorMod(next.getAndIncrement(), activeUsers)];
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JwtTokenProviderBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+
+}
@@ -0,0 +1,72 @@
+package com.fooddelivery.deliveryservice.config;
+
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.core.QueueBuilder;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
+import org.springframework.amqp.rabbit.config.RetryInterceptorBuilder;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.amqp.rabbit.retry.RejectAndDontRequeueRecoverer;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class RabbitMQConfig {
+
+    // Versioned name: the original order.delivery.assignment queue was declared without dead-lettering,
+    // and RabbitMQ refuses to redeclare an existing queue with different arguments
+    public static final String ORDER_DELIVERY_ASSIGNMENT_QUEUE = "order.delivery.assignment.v2";
+    public static final String ORDER_DELIVERY_ASSIGNMENT_DLQ = "order.delivery.assignment.v2.dlq";
+
+    @Value("${delivery.assignment.batch-size:100}")
+    private int assignmentBatchSize;
+
+    @Value("${delivery.assignment.batch-timeout-ms:200}")
+    private long assignmentBatchTimeoutMs;
+
+    @Value("${delivery.assignment.max-attempts:3}")
+    private int assignmentMaxAttempts;
+
+    // Must match the declaration in order-service, which declares the same queue
+    @Bean
+    public Queue orderDeliveryAssignmentQueue() {
+        return QueueBuilder.durable(ORDER_DELIVERY_ASSIGNMENT_QUEUE)
+                .deadLetterExchange("")
+                .deadLetterRoutingKey(ORDER_DELIVERY_ASSIGNMENT_DLQ)
+                .build();
+    }
+
+    @Bean
+    public Queue orderDeliveryAssignmentDeadLetterQueue() {
+        return QueueBuilder.durable(ORDER_DELIVERY_ASSIGNMENT_DLQ).build();
+    }
+
+    @Bean
+    public MessageConverter jsonMessageConverter() {
+        return new Jackson2JsonMessageConverter();
+    }
+
+    @Bean
+    public SimpleRabbitListenerContainerFactory assignmentBatchContainerFactory(ConnectionFactory connectionFactory) {
+        SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
+        factory.setConnectionFactory(connectionFactory);
+        factory.setMessageConverter(jsonMessageConverter());
+        factory.setBatchListener(true);
+        factory.setConsumerBatchEnabled(true);
+        factory.setBatchSize(assignmentBatchSize);
+        factory.setReceiveTimeout(assignmentBatchTimeoutMs);
+        factory.setPrefetchCount(assignmentBatchSize * 2);
+        // A batch that keeps failing is retried a few times in place, then rejected to the dead-letter queue
+        // instead of being requeued forever
+        factory.setDefaultRequeueRejected(false);
+        factory.setAdviceChain(RetryInterceptorBuilder.stateless()
+                .maxAttempts(assignmentMaxAttempts)
+                .backOffOptions(500, 2.0, 5000)
+                .recoverer(new RejectAndDontRequeueRecoverer())
+                .build());
+        return factory;
+    }
+
+}
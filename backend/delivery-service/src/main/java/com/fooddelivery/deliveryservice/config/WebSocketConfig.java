@@ -0,0 +1,42 @@
+package com.fooddelivery.deliveryservice.config;
+
+import com.fooddelivery.deliveryservice.websocket.LocationFrameHandler;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.socket.config.annotation.EnableWebSocket;
+import org.springframework.web.socket.config.annotation.WebSocketConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketHandlerRegistry;
+import org.springframework.web.socket.server.standard.ServletServerContainerFactoryBean;
+
+@Configuration
+@EnableWebSocket
+public class WebSocketConfig implements WebSocketConfigurer {
+
+    @Autowired
+    private LocationFrameHandler locationFrameHandler;
+
+    @Value("${location.stream.max-message-bytes:8192}")
+    private int maxMessageBytes;
+
+    @Value("${location.stream.idle-timeout-ms:120000}")
+    private long idleTimeoutMs;
+
+    @Override
+    public void registerWebSocketHandlers(WebSocketHandlerRegistry registry) {
+        // Under /deliveries so the gateway's authenticated delivery route also covers the stream
+        registry.addHandler(locationFrameHandler, "/deliveries/ws/locations")
+                .setAllowedOriginPatterns("*");
+    }
+
+    @Bean
+    public ServletServerContainerFactoryBean createWebSocketContainer() {
+        ServletServerContainerFactoryBean container = new ServletServerContainerFactoryBean();
+        container.setMaxBinaryMessageBufferSize(maxMessageBytes);
+        container.setMaxTextMessageBufferSize(maxMessageBytes);
+        container.setMaxSessionIdleTimeout(idleTimeoutMs);
+        return container;
+    }
+
+}
@@ -2,9 +2,13 @@ package com.fooddelivery.deliveryservice.controller;
 
 import com.fooddelivery.deliveryservice.dto.AssignDriverRequest;
 import com.fooddelivery.deliveryservice.dto.DeliveryResponse;
+import com.fooddelivery.deliveryservice.dto.DriverCandidate;
 import com.fooddelivery.deliveryservice.dto.LocationUpdateRequest;
 import com.fooddelivery.deliveryservice.entity.DeliveryStatus;
 import com.fooddelivery.deliveryservice.service.DeliveryService;
+import com.fooddelivery.deliveryservice.service.DispatchService;
+import com.fooddelivery.deliveryservice.service.DriverLocationIndex;
+import com.fooddelivery.deliveryservice.service.LocationIngestService;
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -22,6 +26,12 @@ public class DeliveryController {
     @Autowired
     private DeliveryService deliveryService;
 
+    @Autowired
+    private DispatchService dispatchService;
+
+    @Autowired
+    private LocationIngestService locationIngestService;
+
     @PostMapping("/assign")
     public ResponseEntity<DeliveryResponse> assignDriver(@Valid @RequestBody AssignDriverRequest request) {
         log.info("Assigning driver {} to order {}", request.getDriverId(), request.getOrderId());
@@ -67,12 +77,12 @@ public class DeliveryController {
     }
 
     @PutMapping("/{id}/location")
-    public ResponseEntity<DeliveryResponse> updateDriverLocation(
+    public ResponseEntity<Void> updateDriverLocation(
             @PathVariable Long id,
             @Valid @RequestBody LocationUpdateRequest request) {
-        log.info("Updating location for delivery {}", id);
-        DeliveryResponse response = deliveryService.updateDriverLocation(id, request);
-        return ResponseEntity.ok(response);
+        log.debug("Updating location for delivery {}", id);
+        locationIngestService.ingest(id, request.getLatitude(), request.getLongitude(), System.currentTimeMillis());
+        return ResponseEntity.accepted().build();
     }
 
     @GetMapping("/status/{status}")
@@ -82,4 +92,26 @@ public class DeliveryController {
         return ResponseEntity.ok(responses);
     }
 
+    @PutMapping("/drivers/{driverId}/location")
+    public ResponseEntity<Void> updateIdleDriverLocation(
+            @PathVariable String driverId,
+            @Valid @RequestBody LocationUpdateRequest request) {
+        log.debug("Updating idle location for driver {}", driverId);
+        dispatchService.updateIdleLocation(driverId, request.getLatitude(), request.getLongitude());
+        return ResponseEntity.noContent().build();
+    }
+
+    @GetMapping("/drivers/nearest")
+    public ResponseEntity<List<DriverCandidate>> getNearestIdleDrivers(
+            @RequestParam double lat,
+            @RequestParam double lng,
+            @RequestParam(defaultValue = "5") int k) {
+        if (k < 1 || k > DriverLocationIndex.MAX_K) {
+            throw new IllegalArgumentException("k must be between 1 and " + DriverLocationIndex.MAX_K);
+        }
+        log.info("Fetching {} nearest idle drivers to ({}, {})", k, lat, lng);
+        List<DriverCandidate> candidates = dispatchService.findNearestIdleDrivers(lat, lng, k);
+        return ResponseEntity.ok(candidates);
+    }
+
 }
@@ -16,9 +16,12 @@ public class AssignDriverRequest {
     @NotNull(message = "Order ID cannot be null")
     private Long orderId;
 
-    @NotNull(message = "Driver ID cannot be null")
     private String driverId;
 
+    private Double pickupLat;
+
+    private Double pickupLng;
+
     @NotBlank(message = "Pickup address cannot be blank")
     private String pickupAddress;
 
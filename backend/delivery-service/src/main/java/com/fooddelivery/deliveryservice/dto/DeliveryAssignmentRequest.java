@@ -1,4 +1,4 @@
-package com.fooddelivery.orderservice.client.dto;
+package com.fooddelivery.deliveryservice.dto;
 
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -9,14 +9,12 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-public class DeliveryResponse {
-
-    private Long id;
+public class DeliveryAssignmentRequest {
 
     private Long orderId;
 
-    private Long driverId;
+    private Long restaurantId;
 
-    private String status;
+    private String deliveryAddress;
 
 }
@@ -0,0 +1,22 @@
+package com.fooddelivery.deliveryservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DriverCandidate {
+
+    private String driverId;
+
+    private Double latitude;
+
+    private Double longitude;
+
+    private Double distanceKm;
+
+}
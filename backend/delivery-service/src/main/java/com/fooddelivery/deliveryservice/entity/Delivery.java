@@ -11,24 +11,31 @@ import org.hibernate.annotations.UpdateTimestamp;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "deliveries")
+@Table(name = "deliveries", uniqueConstraints =
+        @UniqueConstraint(name = Delivery.ORDER_ID_CONSTRAINT, columnNames = "order_id"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 public class Delivery {
 
+    public static final String ORDER_ID_CONSTRAINT = "uk_deliveries_order_id";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    // One delivery per order; concurrent inserts for the same order fail instead of creating a second one
     @Column(nullable = false)
     private Long orderId;
 
-    @Column(nullable = false)
+    @Column
+    private Long restaurantId;
+
+    @Column
     private String driverId;
 
-    @Column(nullable = false)
+    @Column
     private String pickupAddress;
 
     @Column(nullable = false)
@@ -44,10 +51,11 @@ public class Delivery {
     @Column
     private LocalDateTime actualDeliveryTime;
 
-    @Column
+    // Written only by the batched location flush so entity saves never overwrite newer positions
+    @Column(insertable = false, updatable = false)
     private Double driverLat;
 
-    @Column
+    @Column(insertable = false, updatable = false)
     private Double driverLng;
 
     @CreationTimestamp
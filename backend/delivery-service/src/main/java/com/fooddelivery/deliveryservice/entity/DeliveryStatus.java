@@ -1,6 +1,7 @@
 package com.fooddelivery.deliveryservice.entity;
 
 public enum DeliveryStatus {
+    PENDING,
     ASSIGNED,
     GOING_TO_RESTAURANT,
     PICKED_UP,
@@ -22,6 +22,12 @@ public class DeliveryEvent {
 
     private DeliveryStatus status;
 
+    private Double latitude;
+
+    private Double longitude;
+
+    private Double heading;
+
     private String eventType;
 
     private LocalDateTime timestamp;
@@ -0,0 +1,13 @@
+package com.fooddelivery.deliveryservice.exception;
+
+public class DriverUnavailableException extends RuntimeException {
+
+    public DriverUnavailableException(String message) {
+        super(message);
+    }
+
+    public DriverUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+}
@@ -1,6 +1,9 @@
 package com.fooddelivery.deliveryservice.exception;
 
+import com.fooddelivery.deliveryservice.entity.Delivery;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -25,6 +28,39 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
     }
 
+    @ExceptionHandler(DriverUnavailableException.class)
+    public ResponseEntity<Map<String, Object>> handleDriverUnavailableException(DriverUnavailableException ex) {
+        log.warn("Driver unavailable: {}", ex.getMessage());
+        Map<String, Object> response = new HashMap<>();
+        response.put("timestamp", LocalDateTime.now());
+        response.put("status", HttpStatus.CONFLICT.value());
+        response.put("message", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+    }
+
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<Map<String, Object>> handleDataIntegrityViolationException(DataIntegrityViolationException ex) {
+        if (!isOrderIdConflict(ex)) {
+            return handleGlobalException(ex);
+        }
+        log.warn("Conflicting write: {}", ex.getMessage());
+        Map<String, Object> response = new HashMap<>();
+        response.put("timestamp", LocalDateTime.now());
+        response.put("status", HttpStatus.CONFLICT.value());
+        response.put("message", "A delivery for this order was created concurrently, please retry");
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<Map<String, Object>> handleIllegalArgumentException(IllegalArgumentException ex) {
+        log.error("Bad request: {}", ex.getMessage());
+        Map<String, Object> response = new HashMap<>();
+        response.put("timestamp", LocalDateTime.now());
+        response.put("status", HttpStatus.BAD_REQUEST.value());
+        response.put("message", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<Map<String, Object>> handleValidationException(MethodArgumentNotValidException ex) {
         log.error("Validation error: {}", ex.getMessage());
@@ -52,4 +88,14 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
     }
 
+    // Only the one-delivery-per-order constraint means a concurrent create; any other violation is a real error
+    private boolean isOrderIdConflict(DataIntegrityViolationException ex) {
+        if (ex.getCause() instanceof ConstraintViolationException violation && violation.getConstraintName() != null) {
+            // MySQL reports the name qualified by its table
+            return violation.getConstraintName().toLowerCase().endsWith(Delivery.ORDER_ID_CONSTRAINT);
+        }
+        String message = ex.getMostSpecificCause().getMessage();
+        return message != null && message.contains(Delivery.ORDER_ID_CONSTRAINT);
+    }
+
 }
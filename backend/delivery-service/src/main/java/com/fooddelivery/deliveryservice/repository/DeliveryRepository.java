@@ -3,8 +3,11 @@ package com.fooddelivery.deliveryservice.repository;
 import com.fooddelivery.deliveryservice.entity.Delivery;
 import com.fooddelivery.deliveryservice.entity.DeliveryStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -17,4 +20,7 @@ public interface DeliveryRepository extends JpaRepository<Delivery, Long> {
 
     List<Delivery> findByStatus(DeliveryStatus status);
 
+    @Query("SELECT d.orderId FROM Delivery d WHERE d.orderId IN :orderIds")
+    List<Long> findExistingOrderIds(@Param("orderIds") Collection<Long> orderIds);
+
 }
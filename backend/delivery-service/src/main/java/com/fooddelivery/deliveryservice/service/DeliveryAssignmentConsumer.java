@@ -0,0 +1,54 @@
+package com.fooddelivery.deliveryservice.service;
+
+import com.fooddelivery.deliveryservice.config.RabbitMQConfig;
+import com.fooddelivery.deliveryservice.dto.DeliveryAssignmentRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+@Service
+@Slf4j
+public class DeliveryAssignmentConsumer {
+
+    @Autowired
+    private DeliveryService deliveryService;
+
+    // A failure that survives the per-request fallback is rethrown: the container retries the batch a few times and
+    // then dead-letters it. Creation is idempotent per order, so replaying a dead-lettered batch is safe.
+    @RabbitListener(queues = RabbitMQConfig.ORDER_DELIVERY_ASSIGNMENT_QUEUE, containerFactory = "assignmentBatchContainerFactory")
+    public void consumeAssignments(List<DeliveryAssignmentRequest> requests) {
+        log.debug("Received batch of {} delivery assignment requests", requests.size());
+        try {
+            deliveryService.createPendingDeliveries(requests);
+        } catch (DataIntegrityViolationException e) {
+            // Another consumer created a delivery for one of these orders between the check and the insert.
+            // The batch was rolled back as a whole; running it again skips the orders that now exist.
+            log.info("Duplicate delivery in assignment batch, retrying without existing orders: {}", e.getMessage());
+            deliveryService.createPendingDeliveries(requests);
+        } catch (RuntimeException e) {
+            // One bad request must not hold back the rest of the batch
+            log.warn("Assignment batch failed, creating deliveries one by one: {}", e.getMessage());
+            createIndividually(requests);
+        }
+    }
+
+    private void createIndividually(List<DeliveryAssignmentRequest> requests) {
+        RuntimeException failure = null;
+        for (DeliveryAssignmentRequest request : requests) {
+            try {
+                deliveryService.createPendingDeliveries(List.of(request));
+            } catch (RuntimeException e) {
+                log.error("Failed to create delivery for order {}", request.getOrderId(), e);
+                failure = e;
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+}
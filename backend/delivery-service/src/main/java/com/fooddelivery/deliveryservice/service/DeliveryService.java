@@ -1,23 +1,28 @@
 package com.fooddelivery.deliveryservice.service;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fooddelivery.deliveryservice.dto.AssignDriverRequest;
+import com.fooddelivery.deliveryservice.dto.DeliveryAssignmentRequest;
 import com.fooddelivery.deliveryservice.dto.DeliveryResponse;
-import com.fooddelivery.deliveryservice.dto.LocationUpdateRequest;
 import com.fooddelivery.deliveryservice.entity.Delivery;
 import com.fooddelivery.deliveryservice.entity.DeliveryStatus;
+import com.fooddelivery.deliveryservice.entity.OutboxEvent;
 import com.fooddelivery.deliveryservice.event.DeliveryEvent;
 import com.fooddelivery.deliveryservice.exception.DeliveryNotFoundException;
 import com.fooddelivery.deliveryservice.repository.DeliveryRepository;
+import com.fooddelivery.deliveryservice.repository.OutboxEventRepository;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.client.RestTemplate;
 
 import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 @Service
 @Slf4j
@@ -28,41 +33,96 @@ public class DeliveryService {
     private DeliveryRepository deliveryRepository;
 
     @Autowired
-    private KafkaTemplate<String, DeliveryEvent> kafkaTemplate;
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
 
     @Autowired
     private RestTemplate restTemplate;
 
+    @Autowired
+    private DispatchService dispatchService;
+
+    @Autowired
+    private LocationIngestService locationIngestService;
+
     @Value("${faas.gateway.url}")
     private String faasGatewayUrl;
 
     private static final String DELIVERY_EVENTS_TOPIC = "delivery.events";
     private static final String DELIVERY_ASSIGNED_EVENT = "DELIVERY_ASSIGNED";
     private static final String DELIVERY_STATUS_CHANGED_EVENT = "DELIVERY_STATUS_CHANGED";
-    private static final String LOCATION_UPDATED_EVENT = "LOCATION_UPDATED";
 
     @Transactional
     public DeliveryResponse assignDriver(AssignDriverRequest request) {
         log.info("Assigning driver {} to order {}", request.getDriverId(), request.getOrderId());
 
-        Delivery delivery = Delivery.builder()
-                .orderId(request.getOrderId())
-                .driverId(request.getDriverId())
-                .pickupAddress(request.getPickupAddress())
-                .deliveryAddress(request.getDeliveryAddress())
-                .status(DeliveryStatus.ASSIGNED)
-                .estimatedDeliveryTime(LocalDateTime.now().plusMinutes(30))
-                .build();
+        String driverId;
+        if (request.getDriverId() != null) {
+            dispatchService.claim(request.getDriverId());
+            driverId = request.getDriverId();
+        } else if (request.getPickupLat() != null && request.getPickupLng() != null) {
+            driverId = dispatchService.dispatchNearest(request.getPickupLat(), request.getPickupLng());
+        } else {
+            throw new IllegalArgumentException("Either driverId or pickup coordinates are required");
+        }
+
+        Delivery delivery = deliveryRepository.findByOrderId(request.getOrderId())
+                .orElseGet(() -> Delivery.builder().orderId(request.getOrderId()).build());
+
+        // A reassigned delivery frees its previous driver, but only if the new assignment commits
+        String previousDriverId = delivery.getDriverId();
+        if (previousDriverId != null && !previousDriverId.equals(driverId)) {
+            dispatchService.releaseAfterCommit(previousDriverId);
+        }
+
+        delivery.setDriverId(driverId);
+        delivery.setPickupAddress(request.getPickupAddress());
+        delivery.setDeliveryAddress(request.getDeliveryAddress());
+        delivery.setStatus(DeliveryStatus.ASSIGNED);
+        delivery.setEstimatedDeliveryTime(LocalDateTime.now().plusMinutes(30));
 
         delivery = deliveryRepository.save(delivery);
+        locationIngestService.track(delivery);
 
         publishDeliveryEvent(delivery, DELIVERY_ASSIGNED_EVENT);
         log.info("Driver {} assigned to order {} with delivery id: {}",
-                request.getDriverId(), request.getOrderId(), delivery.getId());
+                driverId, request.getOrderId(), delivery.getId());
 
         return mapToResponse(delivery);
     }
 
+    @Transactional
+    public void createPendingDeliveries(List<DeliveryAssignmentRequest> requests) {
+        // Redelivered and duplicate requests collapse onto one delivery per order
+        Map<Long, DeliveryAssignmentRequest> byOrderId = new LinkedHashMap<>();
+        for (DeliveryAssignmentRequest request : requests) {
+            if (request.getOrderId() != null) {
+                byOrderId.put(request.getOrderId(), request);
+            }
+        }
+        deliveryRepository.findExistingOrderIds(byOrderId.keySet()).forEach(byOrderId::remove);
+
+        if (byOrderId.isEmpty()) {
+            log.debug("All {} assignment requests were already handled", requests.size());
+            return;
+        }
+
+        List<Delivery> deliveries = byOrderId.values().stream()
+                .map(request -> Delivery.builder()
+                        .orderId(request.getOrderId())
+                        .restaurantId(request.getRestaurantId())
+                        .deliveryAddress(request.getDeliveryAddress())
+                        .status(DeliveryStatus.PENDING)
+                        .build())
+                .toList();
+
+        // No event yet: consumers hear about the delivery once a driver is assigned (DELIVERY_ASSIGNED)
+        deliveryRepository.saveAll(deliveries);
+        log.info("Created {} pending deliveries from {} assignment requests", deliveries.size(), requests.size());
+    }
+
     @Transactional(readOnly = true)
     public DeliveryResponse getDelivery(Long deliveryId) {
         log.info("Fetching delivery with id: {}", deliveryId);
@@ -96,6 +156,10 @@ public class DeliveryService {
         DeliveryStatus oldStatus = delivery.getStatus();
         delivery.setStatus(newStatus);
 
+        if (!isActive(newStatus)) {
+            dispatchService.releaseAfterCommit(delivery.getDriverId());
+        }
+
         if (newStatus == DeliveryStatus.DELIVERED) {
             delivery.setActualDeliveryTime(LocalDateTime.now());
             log.info("Delivery {} marked as delivered, calling FaaS for analytics", deliveryId);
@@ -103,6 +167,7 @@ public class DeliveryService {
         }
 
         delivery = deliveryRepository.save(delivery);
+        locationIngestService.track(delivery);
 
         publishDeliveryEvent(delivery, DELIVERY_STATUS_CHANGED_EVENT);
         log.info("Delivery {} status updated from {} to {}", deliveryId, oldStatus, newStatus);
@@ -110,25 +175,6 @@ public class DeliveryService {
         return mapToResponse(delivery);
     }
 
-    @Transactional
-    public DeliveryResponse updateDriverLocation(Long deliveryId, LocationUpdateRequest request) {
-        log.info("Updating location for delivery {} to lat: {}, lng: {}",
-                deliveryId, request.getLatitude(), request.getLongitude());
-
-        Delivery delivery = deliveryRepository.findById(deliveryId)
-                .orElseThrow(() -> new DeliveryNotFoundException("Delivery not found with id: " + deliveryId));
-
-        delivery.setDriverLat(request.getLatitude());
-        delivery.setDriverLng(request.getLongitude());
-
-        delivery = deliveryRepository.save(delivery);
-
-        publishDeliveryEvent(delivery, LOCATION_UPDATED_EVENT);
-        log.info("Location updated for delivery {}", deliveryId);
-
-        return mapToResponse(delivery);
-    }
-
     @Transactional(readOnly = true)
     public List<DeliveryResponse> getDeliveriesByStatus(DeliveryStatus status) {
         log.info("Fetching deliveries with status: {}", status);
@@ -137,20 +183,25 @@ public class DeliveryService {
     }
 
     private void publishDeliveryEvent(Delivery delivery, String eventType) {
+        DeliveryEvent event = DeliveryEvent.builder()
+                .deliveryId(delivery.getId())
+                .orderId(delivery.getOrderId())
+                .driverId(delivery.getDriverId())
+                .status(delivery.getStatus())
+                .eventType(eventType)
+                .timestamp(LocalDateTime.now())
+                .build();
+
         try {
-            DeliveryEvent event = DeliveryEvent.builder()
-                    .deliveryId(delivery.getId())
-                    .orderId(delivery.getOrderId())
-                    .driverId(delivery.getDriverId())
-                    .status(delivery.getStatus())
+            outboxEventRepository.save(OutboxEvent.builder()
+                    .topic(DELIVERY_EVENTS_TOPIC)
+                    .messageKey(event.getDeliveryId().toString())
                     .eventType(eventType)
-                    .timestamp(LocalDateTime.now())
-                    .build();
-
-            kafkaTemplate.send(DELIVERY_EVENTS_TOPIC, event.getDeliveryId().toString(), event);
-            log.debug("Published {} event for delivery {}", eventType, delivery.getId());
-        } catch (Exception e) {
-            log.error("Failed to publish event for delivery {}", delivery.getId(), e);
+                    .payload(objectMapper.writeValueAsString(event))
+                    .build());
+            log.debug("Queued {} event for delivery {}", eventType, delivery.getId());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize event for delivery " + delivery.getId(), e);
         }
     }
 
@@ -168,6 +219,10 @@ public class DeliveryService {
         }
     }
 
+    private boolean isActive(DeliveryStatus status) {
+        return status != DeliveryStatus.DELIVERED && status != DeliveryStatus.FAILED;
+    }
+
     private DeliveryResponse mapToResponse(Delivery delivery) {
         return DeliveryResponse.builder()
                 .id(delivery.getId())
@@ -0,0 +1,135 @@
+package com.fooddelivery.deliveryservice.service;
+
+import com.fooddelivery.deliveryservice.dto.DriverCandidate;
+import com.fooddelivery.deliveryservice.exception.DriverUnavailableException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Service
+@Slf4j
+public class DispatchService {
+
+    // One key per claimed driver, shared by every delivery-service instance
+    private static final String CLAIM_KEY_PREFIX = "driver:claim:";
+
+    @Autowired
+    private DriverLocationIndex driverLocationIndex;
+
+    @Autowired
+    private StringRedisTemplate redisTemplate;
+
+    @Value("${dispatch.candidates:5}")
+    private int candidateCount;
+
+    @Value("${dispatch.max-radius-km:10}")
+    private double maxRadiusKm;
+
+    @Value("${dispatch.claim-ttl-ms:14400000}")
+    private long claimTtlMs;
+
+    public List<DriverCandidate> findNearestIdleDrivers(double lat, double lng, int k) {
+        // The local index does not see claims made by other instances, so over-fetch and filter
+        List<DriverCandidate> candidates = driverLocationIndex.findNearestIdle(lat, lng,
+                Math.min(k * 2, DriverLocationIndex.MAX_K), maxRadiusKm);
+        if (candidates.isEmpty()) {
+            return candidates;
+        }
+        List<String> keys = candidates.stream().map(c -> claimKey(c.getDriverId())).toList();
+        List<String> claims = redisTemplate.opsForValue().multiGet(keys);
+        List<DriverCandidate> unclaimed = new ArrayList<>(k);
+        for (int i = 0; i < candidates.size() && unclaimed.size() < k; i++) {
+            if (claims == null || claims.get(i) == null) {
+                unclaimed.add(candidates.get(i));
+            }
+        }
+        return unclaimed;
+    }
+
+    public String dispatchNearest(double pickupLat, double pickupLng) {
+        // Candidates can be claimed concurrently by another dispatch, so fall through to the next one
+        for (DriverCandidate candidate : driverLocationIndex.findNearestIdle(pickupLat, pickupLng, candidateCount, maxRadiusKm)) {
+            if (tryClaim(candidate.getDriverId())) {
+                log.info("Dispatched driver {} at {} km from pickup", candidate.getDriverId(),
+                        String.format("%.2f", candidate.getDistanceKm()));
+                releaseOnRollback(candidate.getDriverId());
+                return candidate.getDriverId();
+            }
+        }
+        throw new DriverUnavailableException("No idle driver within " + maxRadiusKm + " km of pickup");
+    }
+
+    public void claim(String driverId) {
+        if (!tryClaim(driverId)) {
+            throw new DriverUnavailableException("Driver " + driverId + " is not available");
+        }
+        releaseOnRollback(driverId);
+    }
+
+    public void release(String driverId) {
+        if (driverId != null) {
+            redisTemplate.delete(claimKey(driverId));
+            driverLocationIndex.release(driverId);
+        }
+    }
+
+    /**
+     * Release a driver once the current transaction commits, e.g. one replaced by a reassignment
+     */
+    public void releaseAfterCommit(String driverId) {
+        if (driverId == null) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            release(driverId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                release(driverId);
+            }
+        });
+    }
+
+    public void updateIdleLocation(String driverId, double lat, double lng) {
+        driverLocationIndex.updateLocation(driverId, lat, lng);
+    }
+
+    /**
+     * Claim a driver in Redis; the TTL frees claims leaked by an instance that died mid-assignment
+     */
+    private boolean tryClaim(String driverId) {
+        boolean claimed = Boolean.TRUE.equals(redisTemplate.opsForValue()
+                .setIfAbsent(claimKey(driverId), String.valueOf(System.currentTimeMillis()), Duration.ofMillis(claimTtlMs)));
+        // Either way the driver is busy, so keep this instance's index from offering them again
+        driverLocationIndex.claim(driverId);
+        return claimed;
+    }
+
+    private static String claimKey(String driverId) {
+        return CLAIM_KEY_PREFIX + driverId;
+    }
+
+    private void releaseOnRollback(String driverId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        release(driverId);
+                    }
+                }
+            });
+        }
+    }
+
+}
@@ -0,0 +1,337 @@
+package com.fooddelivery.deliveryservice.service;
+
+import com.fooddelivery.deliveryservice.dto.DriverCandidate;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory grid index of live driver positions.
+ *
+ * The world is cut into square lat/lng cells; each cell holds the slots of the drivers inside it.
+ * Per-driver state lives in parallel primitive arrays indexed by slot, so a nearest-driver query
+ * only walks the rings of cells around the query point and never allocates per driver.
+ *
+ * The idle flags are this instance's view only; DispatchService holds the authoritative claims in
+ * Redis and uses the index to pick candidates. An idle ping marks the driver idle again.
+ */
+@Component
+@Slf4j
+public class DriverLocationIndex {
+
+    // Upper bound on k for nearest-driver queries; the result heap is sized by it
+    public static final int MAX_K = 50;
+
+    private static final double KM_PER_DEGREE = 111.195;
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final double cellSizeDeg;
+    private final long staleAfterMs;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Integer> slotsByDriver = new HashMap<>();
+    private final Map<Long, Cell> cells = new HashMap<>();
+
+    private String[] driverIds = new String[INITIAL_CAPACITY];
+    private double[] lats = new double[INITIAL_CAPACITY];
+    private double[] lngs = new double[INITIAL_CAPACITY];
+    private long[] cellKeys = new long[INITIAL_CAPACITY];
+    private int[] positionsInCell = new int[INITIAL_CAPACITY];
+    private boolean[] idle = new boolean[INITIAL_CAPACITY];
+    private long[] lastSeen = new long[INITIAL_CAPACITY];
+
+    private int highWaterMark;
+    private int[] freeSlots = new int[INITIAL_CAPACITY];
+    private int freeCount;
+
+    public DriverLocationIndex(@Value("${driver.index.cell-size-deg:0.01}") double cellSizeDeg,
+                               @Value("${driver.index.stale-after-ms:60000}") long staleAfterMs) {
+        this.cellSizeDeg = cellSizeDeg;
+        this.staleAfterMs = staleAfterMs;
+    }
+
+    public void updateLocation(String driverId, double lat, double lng) {
+        updateLocation(driverId, lat, lng, System.currentTimeMillis(), true);
+    }
+
+    public void updateLocationOnDelivery(String driverId, double lat, double lng, long timestamp) {
+        updateLocation(driverId, lat, lng, timestamp, false);
+    }
+
+    private void updateLocation(String driverId, double lat, double lng, long timestamp, boolean idleState) {
+        long cellKey = cellKey(lat, lng);
+        lock.writeLock().lock();
+        try {
+            Integer existing = slotsByDriver.get(driverId);
+            int slot;
+            if (existing == null) {
+                slot = allocateSlot();
+                slotsByDriver.put(driverId, slot);
+                driverIds[slot] = driverId;
+                addToCell(cellKey, slot);
+            } else {
+                slot = existing;
+                if (cellKeys[slot] != cellKey) {
+                    removeFromCell(slot);
+                    addToCell(cellKey, slot);
+                }
+            }
+            idle[slot] = idleState;
+            lats[slot] = lat;
+            lngs[slot] = lng;
+            lastSeen[slot] = Math.max(lastSeen[slot], timestamp);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean claim(String driverId) {
+        lock.writeLock().lock();
+        try {
+            Integer slot = slotsByDriver.get(driverId);
+            if (slot == null || !idle[slot]) {
+                return false;
+            }
+            idle[slot] = false;
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void release(String driverId) {
+        lock.writeLock().lock();
+        try {
+            Integer slot = slotsByDriver.get(driverId);
+            if (slot != null) {
+                idle[slot] = true;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return slotsByDriver.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<DriverCandidate> findNearestIdle(double lat, double lng, int k, double maxRadiusKm) {
+        if (k <= 0) {
+            return List.of();
+        }
+        k = Math.min(k, MAX_K);
+
+        double minCellKm = cellSizeDeg * KM_PER_DEGREE * Math.max(Math.cos(Math.toRadians(Math.abs(lat) + cellSizeDeg)), 0.01);
+        int maxRing = (int) Math.ceil(maxRadiusKm / minCellKm) + 1;
+        double lngScale = Math.cos(Math.toRadians(lat));
+        long minLastSeen = System.currentTimeMillis() - staleAfterMs;
+
+        int centerLat = (int) Math.floor(lat / cellSizeDeg);
+        int centerLng = (int) Math.floor(lng / cellSizeDeg);
+
+        // Bounded max-heap of the k best candidates found so far, root = farthest
+        int[] heapSlots = new int[k];
+        double[] heapDist = new double[k];
+        int heapSize = 0;
+
+        lock.readLock().lock();
+        try {
+            for (int ring = 0; ring <= maxRing; ring++) {
+                for (int dLat = -ring; dLat <= ring; dLat++) {
+                    int step = (dLat == -ring || dLat == ring) ? 1 : Math.max(2 * ring, 1);
+                    for (int dLng = -ring; dLng <= ring; dLng += step) {
+                        Cell cell = cells.get(cellKey(centerLat + dLat, centerLng + dLng));
+                        if (cell == null) {
+                            continue;
+                        }
+                        for (int i = 0; i < cell.count; i++) {
+                            int slot = cell.slots[i];
+                            if (!idle[slot] || lastSeen[slot] < minLastSeen) {
+                                continue;
+                            }
+                            double dy = lats[slot] - lat;
+                            double dx = (lngs[slot] - lng) * lngScale;
+                            double distKm = Math.sqrt(dx * dx + dy * dy) * KM_PER_DEGREE;
+                            if (distKm > maxRadiusKm) {
+                                continue;
+                            }
+                            if (heapSize < k) {
+                                heapSlots[heapSize] = slot;
+                                heapDist[heapSize] = distKm;
+                                siftUp(heapSlots, heapDist, heapSize++);
+                            } else if (distKm < heapDist[0]) {
+                                heapSlots[0] = slot;
+                                heapDist[0] = distKm;
+                                siftDown(heapSlots, heapDist, heapSize);
+                            }
+                        }
+                    }
+                }
+
+                // Nothing in the next ring can be closer than ring * minCellKm
+                if (heapSize == k && heapDist[0] <= ring * minCellKm) {
+                    break;
+                }
+            }
+
+            List<DriverCandidate> candidates = new ArrayList<>(heapSize);
+            for (int i = 0; i < heapSize; i++) {
+                int slot = heapSlots[i];
+                candidates.add(DriverCandidate.builder()
+                        .driverId(driverIds[slot])
+                        .latitude(lats[slot])
+                        .longitude(lngs[slot])
+                        .distanceKm(heapDist[i])
+                        .build());
+            }
+            candidates.sort((a, b) -> Double.compare(a.getDistanceKm(), b.getDistanceKm()));
+            return candidates;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${driver.index.eviction-interval-ms:60000}")
+    public void evictStaleDrivers() {
+        long cutoff = System.currentTimeMillis() - staleAfterMs * 10;
+        int evicted = 0;
+        lock.writeLock().lock();
+        try {
+            for (int slot = 0; slot < highWaterMark; slot++) {
+                // Busy drivers stay indexed so they are not handed out again when they resume pinging
+                if (driverIds[slot] != null && idle[slot] && lastSeen[slot] < cutoff) {
+                    removeFromCell(slot);
+                    slotsByDriver.remove(driverIds[slot]);
+                    driverIds[slot] = null;
+                    freeSlot(slot);
+                    evicted++;
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        if (evicted > 0) {
+            log.info("Evicted {} stale drivers from location index", evicted);
+        }
+    }
+
+    private long cellKey(double lat, double lng) {
+        return cellKey((int) Math.floor(lat / cellSizeDeg), (int) Math.floor(lng / cellSizeDeg));
+    }
+
+    private static long cellKey(int latCell, int lngCell) {
+        return ((long) latCell << 32) | (lngCell & 0xffffffffL);
+    }
+
+    private void addToCell(long cellKey, int slot) {
+        Cell cell = cells.computeIfAbsent(cellKey, key -> new Cell());
+        if (cell.count == cell.slots.length) {
+            cell.slots = Arrays.copyOf(cell.slots, cell.count * 2);
+        }
+        cell.slots[cell.count] = slot;
+        positionsInCell[slot] = cell.count;
+        cell.count++;
+        cellKeys[slot] = cellKey;
+    }
+
+    private void removeFromCell(int slot) {
+        Cell cell = cells.get(cellKeys[slot]);
+        if (cell == null) {
+            return;
+        }
+        int position = positionsInCell[slot];
+        int last = cell.slots[--cell.count];
+        cell.slots[position] = last;
+        positionsInCell[last] = position;
+        if (cell.count == 0) {
+            cells.remove(cellKeys[slot]);
+        }
+    }
+
+    private int allocateSlot() {
+        if (freeCount > 0) {
+            return freeSlots[--freeCount];
+        }
+        if (highWaterMark == driverIds.length) {
+            int capacity = driverIds.length * 2;
+            driverIds = Arrays.copyOf(driverIds, capacity);
+            lats = Arrays.copyOf(lats, capacity);
+            lngs = Arrays.copyOf(lngs, capacity);
+            cellKeys = Arrays.copyOf(cellKeys, capacity);
+            positionsInCell = Arrays.copyOf(positionsInCell, capacity);
+            idle = Arrays.copyOf(idle, capacity);
+            lastSeen = Arrays.copyOf(lastSeen, capacity);
+        }
+        return highWaterMark++;
+    }
+
+    private void freeSlot(int slot) {
+        if (freeCount == freeSlots.length) {
+            freeSlots = Arrays.copyOf(freeSlots, freeCount * 2);
+        }
+        lastSeen[slot] = 0L;
+        freeSlots[freeCount++] = slot;
+    }
+
+    private static void siftUp(int[] slots, double[] dist, int index) {
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (dist[parent] >= dist[index]) {
+                return;
+            }
+            swap(slots, dist, parent, index);
+            index = parent;
+        }
+    }
+
+    private static void siftDown(int[] slots, double[] dist, int size) {
+        int index = 0;
+        while (true) {
+            int left = 2 * index + 1;
+            if (left >= size) {
+                return;
+            }
+            int largest = left;
+            int right = left + 1;
+            if (right < size && dist[right] > dist[left]) {
+                largest = right;
+            }
+            if (dist[index] >= dist[largest]) {
+                return;
+            }
+            swap(slots, dist, index, largest);
+            index = largest;
+        }
+    }
+
+    private static void swap(int[] slots, double[] dist, int a, int b) {
+        int slot = slots[a];
+        slots[a] = slots[b];
+        slots[b] = slot;
+        double d = dist[a];
+        dist[a] = dist[b];
+        dist[b] = d;
+    }
+
+    private static final class Cell {
+
+        private int[] slots = new int[8];
+
+        private int count;
+
+    }
+
+}
@@ -0,0 +1,255 @@
+package com.fooddelivery.deliveryservice.service;
+
+import com.fooddelivery.deliveryservice.entity.Delivery;
+import com.fooddelivery.deliveryservice.entity.DeliveryStatus;
+import com.fooddelivery.deliveryservice.event.DeliveryEvent;
+import com.fooddelivery.deliveryservice.exception.DeliveryNotFoundException;
+import com.fooddelivery.deliveryservice.repository.DeliveryRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Service
+@Slf4j
+public class LocationIngestService {
+
+    private static final String DELIVERY_EVENTS_TOPIC = "delivery.events";
+    private static final String LOCATION_UPDATED_EVENT = "LOCATION_UPDATED";
+    private static final String UPDATE_LOCATION_SQL =
+            "UPDATE deliveries SET driver_lat = ?, driver_lng = ?, updated_at = ? WHERE id = ?";
+
+    @Autowired
+    private DeliveryRepository deliveryRepository;
+
+    @Autowired
+    private DriverLocationIndex driverLocationIndex;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private KafkaTemplate<String, DeliveryEvent> kafkaTemplate;
+
+    @Value("${location.ingest.publish-interval-ms:5000}")
+    private long publishIntervalMs;
+
+    @Value("${location.ingest.idle-eviction-ms:600000}")
+    private long idleEvictionMs;
+
+    @Value("${location.ingest.unknown-ttl-ms:30000}")
+    private long unknownTtlMs;
+
+    @Value("${location.ingest.max-unknown:10000}")
+    private int maxUnknown;
+
+    private final Map<Long, PendingLocation> pendingLocations = new ConcurrentHashMap<>();
+
+    // Only deliveries that are in progress and still pinging: finished ones are dropped, idle ones evicted
+    private final Map<Long, TrackedDelivery> trackedDeliveries = new ConcurrentHashMap<>();
+    private final Map<Long, Long> lastPublishedAt = new ConcurrentHashMap<>();
+
+    // Ids that were not found, so repeated pings for them do not hit the database; expiry time per id
+    private final Map<Long, Long> unknownUntil = new ConcurrentHashMap<>();
+
+    public void ingest(Long deliveryId, double lat, double lng, long timestamp) {
+        ingest(deliveryId, lat, lng, timestamp, null);
+    }
+
+    public void ingest(Long deliveryId, double lat, double lng, long timestamp, Double heading) {
+        long now = System.currentTimeMillis();
+        Long unknownExpiry = unknownUntil.get(deliveryId);
+        if (unknownExpiry != null && unknownExpiry > now) {
+            throw new DeliveryNotFoundException("Delivery not found with id: " + deliveryId);
+        }
+
+        TrackedDelivery tracked;
+        try {
+            tracked = trackedDeliveries.computeIfAbsent(deliveryId, this::loadTrackedDelivery);
+        } catch (DeliveryNotFoundException e) {
+            if (unknownUntil.size() < maxUnknown) {
+                unknownUntil.put(deliveryId, now + unknownTtlMs);
+            }
+            throw e;
+        }
+        tracked.lastSeenAt = now;
+
+        // Pings can arrive out of order; only the newest position per delivery is kept until the next flush
+        pendingLocations.merge(deliveryId, new PendingLocation(lat, lng, timestamp, heading),
+                (current, incoming) -> incoming.timestamp >= current.timestamp ? incoming : current);
+
+        if (tracked.active && tracked.driverId != null) {
+            driverLocationIndex.updateLocationOnDelivery(tracked.driverId, lat, lng, timestamp);
+        }
+    }
+
+    /**
+     * Start or stop tracking a delivery once the current transaction commits, so a rolled-back change never applies
+     */
+    public void track(Delivery delivery) {
+        Long deliveryId = delivery.getId();
+        TrackedDelivery tracked = new TrackedDelivery(delivery.getOrderId(), delivery.getDriverId(), isActive(delivery.getStatus()));
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            applyTracking(deliveryId, tracked);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                applyTracking(deliveryId, tracked);
+            }
+        });
+    }
+
+    private void applyTracking(Long deliveryId, TrackedDelivery tracked) {
+        unknownUntil.remove(deliveryId);
+        if (!tracked.active) {
+            // A late ping reloads the finished delivery as inactive, and it is evicted once the pings stop
+            trackedDeliveries.remove(deliveryId);
+            lastPublishedAt.remove(deliveryId);
+            pendingLocations.remove(deliveryId);
+            return;
+        }
+        trackedDeliveries.put(deliveryId, tracked);
+    }
+
+    @Scheduled(fixedDelayString = "${location.ingest.eviction-interval-ms:60000}")
+    public void evictIdle() {
+        long now = System.currentTimeMillis();
+        long cutoff = now - idleEvictionMs;
+        int before = trackedDeliveries.size();
+        trackedDeliveries.values().removeIf(tracked -> tracked.lastSeenAt < cutoff);
+        lastPublishedAt.keySet().removeIf(deliveryId -> !trackedDeliveries.containsKey(deliveryId));
+        unknownUntil.values().removeIf(expiry -> expiry <= now);
+        int evicted = before - trackedDeliveries.size();
+        if (evicted > 0) {
+            log.info("Evicted {} idle deliveries from location tracking", evicted);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${location.ingest.flush-interval-ms:1000}")
+    public void flush() {
+        if (pendingLocations.isEmpty()) {
+            return;
+        }
+
+        List<Long> deliveryIds = new ArrayList<>(pendingLocations.keySet());
+        List<Object[]> batchArgs = new ArrayList<>(deliveryIds.size());
+        List<DeliveryEvent> events = new ArrayList<>();
+        long now = System.currentTimeMillis();
+
+        for (Long deliveryId : deliveryIds) {
+            PendingLocation location = pendingLocations.remove(deliveryId);
+            TrackedDelivery tracked = trackedDeliveries.get(deliveryId);
+            // Pings buffered before the delivery finished or was evicted are dropped with it
+            if (location == null || tracked == null || !tracked.active) {
+                continue;
+            }
+            batchArgs.add(new Object[]{location.lat, location.lng, new Timestamp(location.timestamp), deliveryId});
+
+            Long published = lastPublishedAt.get(deliveryId);
+            if (published == null || now - published >= publishIntervalMs) {
+                lastPublishedAt.put(deliveryId, now);
+                events.add(toEvent(deliveryId, tracked, location));
+            }
+        }
+
+        try {
+            jdbcTemplate.batchUpdate(UPDATE_LOCATION_SQL, batchArgs);
+        } catch (Exception e) {
+            log.error("Failed to flush {} driver locations", batchArgs.size(), e);
+        }
+
+        for (DeliveryEvent event : events) {
+            kafkaTemplate.send(DELIVERY_EVENTS_TOPIC, event.getDeliveryId().toString(), event)
+                    .whenComplete((result, ex) -> {
+                        if (ex != null) {
+                            log.warn("Failed to publish location for delivery {}", event.getDeliveryId(), ex);
+                        }
+                    });
+        }
+
+        log.debug("Flushed {} driver locations, published {} location events", batchArgs.size(), events.size());
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    private TrackedDelivery loadTrackedDelivery(Long deliveryId) {
+        Delivery delivery = deliveryRepository.findById(deliveryId)
+                .orElseThrow(() -> new DeliveryNotFoundException("Delivery not found with id: " + deliveryId));
+        return new TrackedDelivery(delivery.getOrderId(), delivery.getDriverId(), isActive(delivery.getStatus()));
+    }
+
+    private DeliveryEvent toEvent(Long deliveryId, TrackedDelivery tracked, PendingLocation location) {
+        return DeliveryEvent.builder()
+                .deliveryId(deliveryId)
+                .orderId(tracked.orderId)
+                .driverId(tracked.driverId)
+                .latitude(location.lat)
+                .longitude(location.lng)
+                .heading(location.heading)
+                .eventType(LOCATION_UPDATED_EVENT)
+                .timestamp(LocalDateTime.ofInstant(Instant.ofEpochMilli(location.timestamp), ZoneId.systemDefault()))
+                .build();
+    }
+
+    private boolean isActive(DeliveryStatus status) {
+        return status != DeliveryStatus.DELIVERED && status != DeliveryStatus.FAILED;
+    }
+
+    private static final class PendingLocation {
+
+        private final double lat;
+
+        private final double lng;
+
+        private final long timestamp;
+
+        private final Double heading;
+
+        private PendingLocation(double lat, double lng, long timestamp, Double heading) {
+            this.lat = lat;
+            this.lng = lng;
+            this.timestamp = timestamp;
+            this.heading = heading;
+        }
+
+    }
+
+    private static final class TrackedDelivery {
+
+        private final Long orderId;
+
+        private final String driverId;
+
+        private final boolean active;
+
+        private volatile long lastSeenAt = System.currentTimeMillis();
+
+        private TrackedDelivery(Long orderId, String driverId, boolean active) {
+            this.orderId = orderId;
+            this.driverId = driverId;
+            this.active = active;
+        }
+
+    }
+
+}
@@ -0,0 +1,90 @@
+package com.fooddelivery.deliveryservice.websocket;
+
+import com.fooddelivery.deliveryservice.exception.DeliveryNotFoundException;
+import com.fooddelivery.deliveryservice.service.LocationIngestService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.BinaryWebSocketHandler;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Streaming ingest for driver location pings.
+ *
+ * Each binary message carries one or more fixed-width big-endian frames laid out back to back:
+ * <pre>
+ *   int64   deliveryId
+ *   float64 latitude
+ *   float64 longitude
+ *   int64   timestamp (epoch millis)
+ *   float32 heading   (degrees, NaN when unknown)
+ * </pre>
+ * Frames are handed to {@link LocationIngestService}, the same pipeline used by the HTTP endpoint.
+ */
+@Component
+@Slf4j
+public class LocationFrameHandler extends BinaryWebSocketHandler {
+
+    public static final int FRAME_SIZE = 36;
+
+    @Autowired
+    private LocationIngestService locationIngestService;
+
+    @Override
+    public void afterConnectionEstablished(WebSocketSession session) {
+        log.info("Location stream opened: {}", session.getId());
+    }
+
+    @Override
+    protected void handleBinaryMessage(WebSocketSession session, BinaryMessage message) throws Exception {
+        ByteBuffer payload = message.getPayload().order(ByteOrder.BIG_ENDIAN);
+        if (payload.remaining() == 0 || payload.remaining() % FRAME_SIZE != 0) {
+            log.warn("Closing location stream {}: payload of {} bytes is not a whole number of frames",
+                    session.getId(), payload.remaining());
+            session.close(CloseStatus.BAD_DATA);
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        while (payload.remaining() >= FRAME_SIZE) {
+            long deliveryId = payload.getLong();
+            double lat = payload.getDouble();
+            double lng = payload.getDouble();
+            long timestamp = payload.getLong();
+            float heading = payload.getFloat();
+
+            if (!isValidCoordinate(lat, lng)) {
+                log.debug("Dropping frame with invalid coordinates for delivery {}", deliveryId);
+                continue;
+            }
+
+            try {
+                // Device clocks drift; never let a frame claim to be newer than now
+                locationIngestService.ingest(deliveryId, lat, lng, Math.min(timestamp, now),
+                        Float.isNaN(heading) ? null : (double) heading);
+            } catch (DeliveryNotFoundException e) {
+                log.debug("Dropping frame for unknown delivery {}", deliveryId);
+            }
+        }
+    }
+
+    @Override
+    public void handleTransportError(WebSocketSession session, Throwable exception) {
+        log.warn("Transport error on location stream {}", session.getId(), exception);
+    }
+
+    @Override
+    public void afterConnectionClosed(WebSocketSession session, CloseStatus status) {
+        log.info("Location stream closed: {} ({})", session.getId(), status);
+    }
+
+    private boolean isValidCoordinate(double lat, double lng) {
+        return lat >= -90 && lat <= 90 && lng >= -180 && lng <= 180;
+    }
+
+}
@@ -0,0 +1,96 @@
+package com.fooddelivery.deliveryservice.service;
+
+import com.fooddelivery.deliveryservice.dto.DriverCandidate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Nearest-idle-driver lookups over a city-sized fleet.
+ *
+ * Run with: mvn test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=java
+ *   "-Dexec.args=-cp %classpath com.fooddelivery.deliveryservice.service.DriverLocationIndexBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DriverLocationIndexBenchmark {
+
+    private static final double LAT = 46.77;
+    private static final double LNG = 23.59;
+    // Drivers are spread over about 40 x 30 km around the center
+    private static final double SPREAD_DEG = 0.36;
+    private static final int QUERY_POINTS = 1024;
+
+    @Param({"50000"})
+    private int drivers;
+
+    @Param({"5", "50"})
+    private int k;
+
+    private DriverLocationIndex index;
+    private String[] driverIds;
+    private double[] queryLats;
+    private double[] queryLngs;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        index = new DriverLocationIndex(0.01, 60000);
+        driverIds = new String[drivers];
+        for (int i = 0; i < drivers; i++) {
+            driverIds[i] = "driver-" + i;
+            index.updateLocation(driverIds[i], LAT + (random.nextDouble() - 0.5) * SPREAD_DEG,
+                    LNG + (random.nextDouble() - 0.5) * SPREAD_DEG);
+        }
+        // A quarter of the fleet is on a delivery and must be skipped
+        for (int i = 0; i < drivers; i += 4) {
+            index.claim(driverIds[i]);
+        }
+        queryLats = new double[QUERY_POINTS];
+        queryLngs = new double[QUERY_POINTS];
+        for (int i = 0; i < QUERY_POINTS; i++) {
+            queryLats[i] = LAT + (random.nextDouble() - 0.5) * SPREAD_DEG;
+            queryLngs[i] = LNG + (random.nextDouble() - 0.5) * SPREAD_DEG;
+        }
+    }
+
+    @Benchmark
+    public List<DriverCandidate> findNearestIdle() {
+        int i = next++ & (QUERY_POINTS - 1);
+        return index.findNearestIdle(queryLats[i], queryLngs[i], k, 10);
+    }
+
+    @Benchmark
+    public void updateLocation() {
+        int i = next++ & (QUERY_POINTS - 1);
+        index.updateLocation(driverIds[(i * 37) % drivers], queryLats[i], queryLngs[i]);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(DriverLocationIndexBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+
+}
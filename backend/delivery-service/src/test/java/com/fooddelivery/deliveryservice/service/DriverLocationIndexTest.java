@@ -0,0 +1,150 @@
+package com.fooddelivery.deliveryservice.service;
+
+import com.fooddelivery.deliveryservice.dto.DriverCandidate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DriverLocationIndexTest {
+
+    private static final double CELL_SIZE_DEG = 0.01;
+    private static final double LAT = 46.77;
+    private static final double LNG = 23.59;
+
+    private DriverLocationIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new DriverLocationIndex(CELL_SIZE_DEG, 60000);
+    }
+
+    @Test
+    void returnsNearestDriversSortedByDistance() {
+        index.updateLocation("far", LAT + 0.03, LNG);
+        index.updateLocation("near", LAT + 0.001, LNG);
+        index.updateLocation("middle", LAT + 0.01, LNG);
+
+        List<DriverCandidate> candidates = index.findNearestIdle(LAT, LNG, 2, 10);
+
+        assertEquals(List.of("near", "middle"), ids(candidates));
+        assertTrue(candidates.get(0).getDistanceKm() < candidates.get(1).getDistanceKm());
+    }
+
+    @Test
+    void searchesOuterRingsWhenNearbyCellsAreEmpty() {
+        // Several cells away from the query point in both directions
+        index.updateLocation("driver", LAT - 0.045, LNG + 0.045);
+
+        List<DriverCandidate> candidates = index.findNearestIdle(LAT, LNG, 1, 10);
+
+        assertEquals(List.of("driver"), ids(candidates));
+    }
+
+    @Test
+    void excludesDriversBeyondMaxRadius() {
+        // About 11 km north
+        index.updateLocation("driver", LAT + 0.1, LNG);
+
+        assertTrue(index.findNearestIdle(LAT, LNG, 1, 10).isEmpty());
+        assertEquals(1, index.findNearestIdle(LAT, LNG, 1, 20).size());
+    }
+
+    @Test
+    void matchesBruteForceForRandomDrivers() {
+        Random random = new Random(42);
+        List<double[]> positions = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            double lat = LAT + (random.nextDouble() - 0.5) * 0.2;
+            double lng = LNG + (random.nextDouble() - 0.5) * 0.2;
+            positions.add(new double[]{i, lat, lng});
+            index.updateLocation("driver-" + i, lat, lng);
+        }
+
+        double lngScale = Math.cos(Math.toRadians(LAT));
+        List<String> expected = positions.stream()
+                .sorted(Comparator.comparingDouble(p -> Math.hypot(p[1] - LAT, (p[2] - LNG) * lngScale)))
+                .limit(10)
+                .map(p -> "driver-" + (int) p[0])
+                .toList();
+
+        assertEquals(expected, ids(index.findNearestIdle(LAT, LNG, 10, 50)));
+    }
+
+    @Test
+    void capsKAtMaximum() {
+        for (int i = 0; i < DriverLocationIndex.MAX_K + 10; i++) {
+            index.updateLocation("driver-" + i, LAT + i * 0.0001, LNG);
+        }
+
+        assertEquals(DriverLocationIndex.MAX_K, index.findNearestIdle(LAT, LNG, 1000, 10).size());
+        assertTrue(index.findNearestIdle(LAT, LNG, 0, 10).isEmpty());
+    }
+
+    @Test
+    void claimedDriverIsSkippedUntilReleased() {
+        index.updateLocation("driver", LAT, LNG);
+
+        assertTrue(index.claim("driver"));
+        assertFalse(index.claim("driver"));
+        assertTrue(index.findNearestIdle(LAT, LNG, 1, 10).isEmpty());
+
+        index.release("driver");
+        assertEquals(List.of("driver"), ids(index.findNearestIdle(LAT, LNG, 1, 10)));
+    }
+
+    @Test
+    void idlePingMakesClaimedDriverIdleAgain() {
+        // A claim released on another instance is only seen here once the driver pings as idle
+        index.updateLocation("driver", LAT, LNG);
+        index.claim("driver");
+
+        index.updateLocation("driver", LAT, LNG);
+
+        assertEquals(List.of("driver"), ids(index.findNearestIdle(LAT, LNG, 1, 10)));
+    }
+
+    @Test
+    void deliveryPingMarksDriverBusy() {
+        index.updateLocation("driver", LAT, LNG);
+        index.updateLocationOnDelivery("driver", LAT, LNG, System.currentTimeMillis());
+
+        assertTrue(index.findNearestIdle(LAT, LNG, 1, 10).isEmpty());
+    }
+
+    @Test
+    void unknownDriverCannotBeClaimed() {
+        assertFalse(index.claim("missing"));
+    }
+
+    @Test
+    void movingDriverIsFoundAtNewPosition() {
+        index.updateLocation("driver", LAT + 0.05, LNG);
+        index.updateLocation("driver", LAT, LNG);
+
+        List<DriverCandidate> candidates = index.findNearestIdle(LAT, LNG, 1, 1);
+
+        assertEquals(List.of("driver"), ids(candidates));
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    void staleDriverIsNotOffered() {
+        // A position from a delivery ping long ago, after which the driver was released
+        index.updateLocationOnDelivery("driver", LAT, LNG, System.currentTimeMillis() - 120000);
+        index.release("driver");
+
+        assertTrue(index.findNearestIdle(LAT, LNG, 1, 10).isEmpty());
+    }
+
+    private static List<String> ids(List<DriverCandidate> candidates) {
+        return candidates.stream().map(DriverCandidate::getDriverId).toList();
+    }
+}
@@ -1,13 +1,16 @@
 package com.fooddelivery.notificationservice.config;
 
 import com.fooddelivery.notificationservice.listener.RedisMessageListener;
+import com.fooddelivery.notificationservice.service.UserSessionRegistry;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
-import org.springframework.data.redis.listener.PatternTopic;
+import org.springframework.data.redis.listener.ChannelTopic;
 import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 
+import java.util.List;
+
 @Configuration
 public class RedisMessageListenerConfig {
 
@@ -17,11 +20,16 @@ public class RedisMessageListenerConfig {
     @Bean
     public RedisMessageListenerContainer redisMessageListenerContainer(
             RedisConnectionFactory connectionFactory,
-            RedisMessageListener redisMessageListener) {
+            RedisMessageListener redisMessageListener,
+            UserSessionRegistry sessionRegistry) {
 
         RedisMessageListenerContainer container = new RedisMessageListenerContainer();
         container.setConnectionFactory(connectionFactory);
-        container.addMessageListener(redisMessageListener, new PatternTopic(pubSubChannel));
+        // Broadcasts go to the shared channel; user notifications only to the channel of the instance holding the session
+        container.addMessageListener(redisMessageListener, List.of(
+                new ChannelTopic(pubSubChannel),
+                new ChannelTopic(sessionRegistry.getInstanceChannel())
+        ));
 
         return container;
     }
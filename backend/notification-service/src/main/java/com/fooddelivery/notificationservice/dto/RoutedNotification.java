@@ -0,0 +1,26 @@
+package com.fooddelivery.notificationservice.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RoutedNotification implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    @JsonProperty("origin_instance_id")
+    private String originInstanceId;
+
+    @JsonProperty("target_user_id")
+    private String targetUserId;  // null for broadcasts
+
+    @JsonProperty("notification")
+    private NotificationMessage notification;
+}
@@ -0,0 +1,39 @@
+package com.fooddelivery.notificationservice.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TrackingUpdate implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    @JsonProperty("order_id")
+    private String orderId;
+
+    @JsonProperty("delivery_id")
+    private String deliveryId;
+
+    @JsonProperty("driver_id")
+    private String driverId;
+
+    @JsonProperty("latitude")
+    private Double latitude;
+
+    @JsonProperty("longitude")
+    private Double longitude;
+
+    @JsonProperty("heading")
+    private Double heading;
+
+    @JsonProperty("timestamp")
+    private LocalDateTime timestamp;
+}
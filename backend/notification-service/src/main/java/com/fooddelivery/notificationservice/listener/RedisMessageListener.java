@@ -1,6 +1,7 @@
 package com.fooddelivery.notificationservice.listener;
 
-import com.fooddelivery.notificationservice.dto.NotificationMessage;
+import com.fooddelivery.notificationservice.dto.RoutedNotification;
+import com.fooddelivery.notificationservice.service.UserSessionRegistry;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -15,34 +16,40 @@ public class RedisMessageListener implements MessageListener {
 
     private final SimpMessagingTemplate messagingTemplate;
     private final ObjectMapper objectMapper;
+    private final UserSessionRegistry sessionRegistry;
 
     @Autowired
-    public RedisMessageListener(SimpMessagingTemplate messagingTemplate, ObjectMapper objectMapper) {
+    public RedisMessageListener(SimpMessagingTemplate messagingTemplate,
+                                ObjectMapper objectMapper,
+                                UserSessionRegistry sessionRegistry) {
         this.messagingTemplate = messagingTemplate;
         this.objectMapper = objectMapper;
+        this.sessionRegistry = sessionRegistry;
     }
 
     @Override
     public void onMessage(Message message, byte[] pattern) {
         try {
-            String messageBody = new String(message.getBody());
-            log.debug("Received message from Redis: {}", messageBody);
-
             // Parse the message
-            NotificationMessage notification = objectMapper.readValue(messageBody, NotificationMessage.class);
+            RoutedNotification routed = objectMapper.readValue(message.getBody(), RoutedNotification.class);
+
+            // The originating instance already delivered to its own sessions
+            if (sessionRegistry.getInstanceId().equals(routed.getOriginInstanceId())) {
+                return;
+            }
 
             // Forward to WebSocket clients based on message type
-            if (notification.getUserId() != null && !notification.getUserId().isEmpty()) {
+            if (routed.getTargetUserId() != null && !routed.getTargetUserId().isEmpty()) {
                 // Send to specific user
                 messagingTemplate.convertAndSendToUser(
-                        notification.getUserId(),
+                        routed.getTargetUserId(),
                         "/queue/notifications",
-                        notification
+                        routed.getNotification()
                 );
-                log.debug("Forwarded notification to user: {}", notification.getUserId());
+                log.debug("Forwarded notification to user: {}", routed.getTargetUserId());
             } else {
                 // Broadcast to all users
-                messagingTemplate.convertAndSend("/topic/all", notification);
+                messagingTemplate.convertAndSend("/topic/all", routed.getNotification());
                 log.debug("Broadcasted notification to all users");
             }
         } catch (Exception e) {
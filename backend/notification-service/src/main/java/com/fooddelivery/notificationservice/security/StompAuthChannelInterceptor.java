@@ -0,0 +1,70 @@
+package com.fooddelivery.notificationservice.security;
+
+import com.fooddelivery.notificationservice.service.TrackingAccessRegistry;
+import com.fooddelivery.notificationservice.service.TrackingSubscriptionRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+
+/**
+ * Authenticates STOMP sessions from the Authorization header of the CONNECT frame
+ * and only lets an order's customer or driver subscribe to its tracking destination.
+ */
+@Slf4j
+@Component
+public class StompAuthChannelInterceptor implements ChannelInterceptor {
+
+    private final JwtTokenProvider jwtTokenProvider;
+    private final TrackingAccessRegistry trackingAccessRegistry;
+
+    @Autowired
+    public StompAuthChannelInterceptor(JwtTokenProvider jwtTokenProvider,
+                                       TrackingAccessRegistry trackingAccessRegistry) {
+        this.jwtTokenProvider = jwtTokenProvider;
+        this.trackingAccessRegistry = trackingAccessRegistry;
+    }
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+        if (accessor == null) {
+            return message;
+        }
+
+        if (StompCommand.CONNECT.equals(accessor.getCommand())) {
+            authenticate(accessor);
+        } else if (StompCommand.SUBSCRIBE.equals(accessor.getCommand())) {
+            String orderId = TrackingSubscriptionRegistry.orderIdFrom(accessor.getDestination());
+            if (orderId != null && !trackingAccessRegistry.canTrack(orderId, accessor.getUser())) {
+                // Dropping the frame keeps the session and its other subscriptions alive
+                log.warn("Denied tracking subscription to order {} for session {}", orderId, accessor.getSessionId());
+                return null;
+            }
+        }
+        return message;
+    }
+
+    private void authenticate(StompHeaderAccessor accessor) {
+        String bearerToken = accessor.getFirstNativeHeader("Authorization");
+        if (bearerToken == null || !bearerToken.startsWith("Bearer ")) {
+            return;
+        }
+
+        String jwt = bearerToken.substring(7);
+        if (jwtTokenProvider.validateToken(jwt)) {
+            String userId = jwtTokenProvider.getUserIdFromToken(jwt);
+            if (userId != null) {
+                accessor.setUser(new UsernamePasswordAuthenticationToken(userId, null, new ArrayList<>()));
+            }
+        }
+    }
+}
@@ -1,9 +1,12 @@
 package com.fooddelivery.notificationservice.service;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fooddelivery.notificationservice.dto.DeliveryEvent;
 import com.fooddelivery.notificationservice.dto.NotificationMessage;
 import com.fooddelivery.notificationservice.dto.NotificationType;
 import com.fooddelivery.notificationservice.dto.OrderEvent;
+import com.fooddelivery.notificationservice.dto.TrackingUpdate;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.kafka.annotation.KafkaListener;
@@ -17,11 +20,22 @@ import java.util.Map;
 @Service
 public class KafkaConsumerService {
 
+    private static final String LOCATION_UPDATED_EVENT = "LOCATION_UPDATED";
+
     private final NotificationService notificationService;
+    private final TrackingFanoutService trackingFanoutService;
+    private final TrackingAccessRegistry trackingAccessRegistry;
+    private final ObjectMapper objectMapper;
 
     @Autowired
-    public KafkaConsumerService(NotificationService notificationService) {
+    public KafkaConsumerService(NotificationService notificationService,
+                                TrackingFanoutService trackingFanoutService,
+                                TrackingAccessRegistry trackingAccessRegistry,
+                                ObjectMapper objectMapper) {
         this.notificationService = notificationService;
+        this.trackingFanoutService = trackingFanoutService;
+        this.trackingAccessRegistry = trackingAccessRegistry;
+        this.objectMapper = objectMapper;
     }
 
     @KafkaListener(topics = "order.events", groupId = "${spring.kafka.consumer.group-id}")
@@ -46,6 +60,11 @@ public class KafkaConsumerService {
     @KafkaListener(topics = "delivery.events", groupId = "${spring.kafka.consumer.group-id}")
     public void consumeDeliveryEvent(DeliveryEvent deliveryEvent) {
         try {
+            // Location pings are live tracking data, not notifications
+            if (LOCATION_UPDATED_EVENT.equalsIgnoreCase(deliveryEvent.getEventType())) {
+                return;
+            }
+
             log.info("Consuming delivery event: {}", deliveryEvent);
 
             NotificationMessage notification = convertDeliveryEventToNotification(deliveryEvent);
@@ -63,6 +82,75 @@ public class KafkaConsumerService {
         }
     }
 
+    /**
+     * Every instance reads location updates (own consumer group, latest offset only)
+     * because tracking subscribers may be connected to any of them
+     */
+    @KafkaListener(topics = "delivery.events",
+            groupId = "#{'notification-service-tracking-' + T(java.util.UUID).randomUUID()}",
+            properties = {
+                    "auto.offset.reset=latest",
+                    "value.deserializer=org.apache.kafka.common.serialization.StringDeserializer"
+            })
+    public void consumeLocationEvent(String deliveryEvent) {
+        // Cheap pre-filter so status events are never parsed twice
+        if (!deliveryEvent.contains(LOCATION_UPDATED_EVENT)) {
+            return;
+        }
+
+        try {
+            JsonNode event = objectMapper.readTree(deliveryEvent);
+            if (!LOCATION_UPDATED_EVENT.equals(event.path("eventType").asText())
+                    || !event.hasNonNull("orderId")
+                    || !event.hasNonNull("latitude")
+                    || !event.hasNonNull("longitude")) {
+                return;
+            }
+
+            trackingFanoutService.offer(TrackingUpdate.builder()
+                    .orderId(event.get("orderId").asText())
+                    .deliveryId(event.path("deliveryId").asText(null))
+                    .driverId(event.path("driverId").asText(null))
+                    .latitude(event.get("latitude").asDouble())
+                    .longitude(event.get("longitude").asDouble())
+                    .heading(event.hasNonNull("heading") ? event.get("heading").asDouble() : null)
+                    .timestamp(event.hasNonNull("timestamp")
+                            ? objectMapper.convertValue(event.get("timestamp"), LocalDateTime.class)
+                            : LocalDateTime.now())
+                    .build());
+        } catch (Exception e) {
+            log.error("Error consuming location event", e);
+        }
+    }
+
+    /**
+     * Records each order's customer and assigned driver, the only principals allowed to track it
+     */
+    @KafkaListener(topics = {"order.events", "delivery.events"},
+            groupId = "notification-service-tracking-access",
+            properties = "value.deserializer=org.apache.kafka.common.serialization.StringDeserializer")
+    public void consumeTrackingAccessEvent(String event) {
+        if (event.contains(LOCATION_UPDATED_EVENT)) {
+            return;
+        }
+
+        try {
+            JsonNode node = objectMapper.readTree(event);
+            String orderId = node.path("orderId").asText(null);
+            if (orderId == null) {
+                return;
+            }
+            if (node.hasNonNull("userId")) {
+                trackingAccessRegistry.recordCustomer(orderId, node.get("userId").asText());
+            }
+            if (node.hasNonNull("driverId")) {
+                trackingAccessRegistry.recordDriver(orderId, node.get("driverId").asText());
+            }
+        } catch (Exception e) {
+            log.error("Error recording tracking access", e);
+        }
+    }
+
     @KafkaListener(topics = "restaurant.events", groupId = "${spring.kafka.consumer.group-id}")
     public void consumeRestaurantEvent(String restaurantEvent) {
         try {
@@ -0,0 +1,267 @@
+package com.fooddelivery.notificationservice.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fooddelivery.notificationservice.dto.NotificationMessage;
+import com.fooddelivery.notificationservice.dto.RoutedNotification;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Collects notification writes for a few milliseconds and sends them to Redis in two pipelines:
+ * one that stores every notification and looks up where each recipient is connected, and one that
+ * publishes to just those instances' channels. A burst of N notifications costs two round trips instead of 2N.
+ */
+@Slf4j
+@Component
+public class NotificationBatchWriter {
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final MeterRegistry meterRegistry;
+    private final ObjectMapper objectMapper;
+    private final UserSessionRegistry sessionRegistry;
+
+    @Value("${notification.redis.pub-sub-channel:notification:channel}")
+    private String pubSubChannel;
+
+    @Value("${notification.redis.ttl:86400}")
+    private long redisTtl;
+
+    @Value("${notification.redis.batch.max-size:256}")
+    private int maxBatchSize;
+
+    @Value("${notification.redis.batch.linger-ms:5}")
+    private long lingerMs;
+
+    @Value("${notification.redis.batch.queue-capacity:10000}")
+    private int queueCapacity;
+
+    private BlockingQueue<PendingWrite> queue;
+    private Thread writerThread;
+    private volatile boolean running;
+
+    private DistributionSummary batchSizeSummary;
+    private Timer flushTimer;
+    private Counter flushErrors;
+    private Counter callerRuns;
+    private Counter publishes;
+
+    @Autowired
+    public NotificationBatchWriter(RedisTemplate<String, Object> redisTemplate,
+                                   MeterRegistry meterRegistry,
+                                   ObjectMapper objectMapper,
+                                   UserSessionRegistry sessionRegistry) {
+        this.redisTemplate = redisTemplate;
+        this.meterRegistry = meterRegistry;
+        this.objectMapper = objectMapper;
+        this.sessionRegistry = sessionRegistry;
+    }
+
+    @PostConstruct
+    public void start() {
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        batchSizeSummary = DistributionSummary.builder("notification.redis.batch.size")
+                .description("Notifications written per Redis pipeline")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        flushTimer = Timer.builder("notification.redis.flush.latency")
+                .description("Time to execute one Redis pipeline")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        flushErrors = Counter.builder("notification.redis.flush.errors").register(meterRegistry);
+        callerRuns = Counter.builder("notification.redis.queue.full").register(meterRegistry);
+        publishes = Counter.builder("notification.redis.publishes")
+                .description("Messages published to instance and broadcast channels")
+                .register(meterRegistry);
+        Gauge.builder("notification.redis.queue.depth", queue, BlockingQueue::size).register(meterRegistry);
+
+        running = true;
+        writerThread = new Thread(this::runWriter, "notification-redis-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    /**
+     * Queue the notification to be stored under redisKey and routed to the instances holding
+     * targetUserId's sessions, or to every instance when targetUserId is null
+     */
+    public void write(String redisKey, String targetUserId, NotificationMessage notification) {
+        PendingWrite write = new PendingWrite(redisKey, targetUserId, notification);
+        if (!queue.offer(write)) {
+            // Queue is full: apply back-pressure by writing on the caller's thread
+            callerRuns.increment();
+            flush(List.of(write));
+        }
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        writerThread.interrupt();
+        writerThread.join(TimeUnit.SECONDS.toMillis(5));
+
+        List<PendingWrite> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        if (!remaining.isEmpty()) {
+            flush(remaining);
+        }
+    }
+
+    private void runWriter() {
+        List<PendingWrite> batch = new ArrayList<>(maxBatchSize);
+        while (running) {
+            try {
+                PendingWrite first = queue.take();
+                batch.add(first);
+
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(lingerMs);
+                while (batch.size() < maxBatchSize) {
+                    queue.drainTo(batch, maxBatchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= maxBatchSize || remaining <= 0) {
+                        break;
+                    }
+                    PendingWrite next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+
+                flush(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void flush(List<PendingWrite> batch) {
+        RedisSerializer<String> stringSerializer = redisTemplate.getStringSerializer();
+        RedisSerializer<Object> valueSerializer = (RedisSerializer<Object>) redisTemplate.getValueSerializer();
+        List<String> userIds = batch.stream()
+                .map(write -> write.targetUserId)
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+
+        // A notification fanned out to many users is serialized once
+        Map<NotificationMessage, byte[]> serialized = new IdentityHashMap<>();
+
+        long start = System.nanoTime();
+        long liveCutoff = sessionRegistry.liveCutoff();
+        try {
+            List<Object> results = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                // Prune instances that stopped heartbeating, then read the live ones
+                for (String userId : userIds) {
+                    byte[] key = stringSerializer.serialize(sessionRegistry.sessionsKey(userId));
+                    connection.zSetCommands().zRemRangeByScore(key, 0, liveCutoff);
+                    connection.zSetCommands().zRangeByScore(key, liveCutoff, Double.MAX_VALUE);
+                }
+                for (PendingWrite write : batch) {
+                    byte[] value = serialized.computeIfAbsent(write.notification, valueSerializer::serialize);
+                    connection.stringCommands().setEx(stringSerializer.serialize(write.redisKey), redisTtl, value);
+                }
+                return null;
+            }, stringSerializer);
+
+            Map<String, Set<String>> instancesByUser = new HashMap<>();
+            for (int i = 0; i < userIds.size(); i++) {
+                instancesByUser.put(userIds.get(i), (Set<String>) results.get(2 * i + 1));
+            }
+
+            List<byte[][]> messages = buildMessages(batch, instancesByUser, stringSerializer);
+            if (!messages.isEmpty()) {
+                redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                    for (byte[][] message : messages) {
+                        connection.publish(message[0], message[1]);
+                    }
+                    return null;
+                });
+                publishes.increment(messages.size());
+            }
+            log.debug("Flushed {} notifications to Redis, {} publishes", batch.size(), messages.size());
+        } catch (Exception e) {
+            flushErrors.increment();
+            log.error("Error flushing {} notifications to Redis", batch.size(), e);
+        } finally {
+            flushTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            batchSizeSummary.record(batch.size());
+        }
+    }
+
+    private List<byte[][]> buildMessages(List<PendingWrite> batch,
+                                         Map<String, Set<String>> instancesByUser,
+                                         RedisSerializer<String> stringSerializer) throws Exception {
+        String self = sessionRegistry.getInstanceId();
+        List<byte[][]> messages = new ArrayList<>();
+
+        for (PendingWrite write : batch) {
+            Set<String> targets = new LinkedHashSet<>();
+            if (write.targetUserId == null) {
+                targets.add(pubSubChannel);
+            } else {
+                Set<String> instances = instancesByUser.get(write.targetUserId);
+                if (instances != null) {
+                    for (String instance : instances) {
+                        // The originating instance has already delivered to its own sessions
+                        if (!self.equals(instance)) {
+                            targets.add(sessionRegistry.channelFor(instance));
+                        }
+                    }
+                }
+            }
+            if (targets.isEmpty()) {
+                continue;
+            }
+
+            byte[] payload = objectMapper.writeValueAsBytes(RoutedNotification.builder()
+                    .originInstanceId(self)
+                    .targetUserId(write.targetUserId)
+                    .notification(write.notification)
+                    .build());
+            for (String target : targets) {
+                messages.add(new byte[][]{stringSerializer.serialize(target), payload});
+            }
+        }
+        return messages;
+    }
+
+    private static final class PendingWrite {
+        private final String redisKey;
+        private final String targetUserId;
+        private final NotificationMessage notification;
+
+        private PendingWrite(String redisKey, String targetUserId, NotificationMessage notification) {
+            this.redisKey = redisKey;
+            this.targetUserId = targetUserId;
+            this.notification = notification;
+        }
+    }
+}
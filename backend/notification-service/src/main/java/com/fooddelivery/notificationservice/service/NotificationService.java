@@ -19,9 +19,7 @@ public class NotificationService {
     private final SimpMessagingTemplate messagingTemplate;
     private final RedisTemplate<String, Object> redisTemplate;
     private final ObjectMapper objectMapper;
-
-    @Value("${notification.redis.pub-sub-channel:notification:channel}")
-    private String pubSubChannel;
+    private final NotificationBatchWriter batchWriter;
 
     @Value("${notification.redis.ttl:86400}")
     private long redisTtl;
@@ -29,10 +27,12 @@ public class NotificationService {
     @Autowired
     public NotificationService(SimpMessagingTemplate messagingTemplate,
                                RedisTemplate<String, Object> redisTemplate,
-                               ObjectMapper objectMapper) {
+                               ObjectMapper objectMapper,
+                               NotificationBatchWriter batchWriter) {
         this.messagingTemplate = messagingTemplate;
         this.redisTemplate = redisTemplate;
         this.objectMapper = objectMapper;
+        this.batchWriter = batchWriter;
     }
 
     /**
@@ -50,12 +50,9 @@ public class NotificationService {
             // Send directly via WebSocket
             messagingTemplate.convertAndSendToUser(userId, "/queue/notifications", notification);
 
-            // Publish to Redis for other instances
+            // Store in Redis and route to other instances holding this user's sessions, batched with other pending writes
             String redisKey = "notification:" + userId + ":" + notification.getNotificationId();
-            redisTemplate.opsForValue().set(redisKey, notification, java.time.Duration.ofSeconds(redisTtl));
-
-            // Publish the message to Redis pub/sub channel
-            redisTemplate.convertAndSend(pubSubChannel, notification);
+            batchWriter.write(redisKey, userId, notification);
 
             log.info("Notification sent to user: {}", userId);
         } catch (Exception e) {
@@ -65,6 +62,7 @@ public class NotificationService {
 
     /**
      * Send notification to multiple users
+     * The Redis writes for all recipients go out in the same pipeline
      */
     public void sendToUsers(java.util.List<String> userIds, NotificationMessage notification) {
         userIds.forEach(userId -> sendToUser(userId, notification));
@@ -85,12 +83,9 @@ public class NotificationService {
             // Send to all users via WebSocket
             messagingTemplate.convertAndSend("/topic/all", notification);
 
-            // Publish to Redis for other instances
+            // Store and publish to Redis for other instances
             String redisKey = "broadcast:" + notification.getNotificationId();
-            redisTemplate.opsForValue().set(redisKey, notification, java.time.Duration.ofSeconds(redisTtl));
-
-            // Publish the message to Redis pub/sub channel
-            redisTemplate.convertAndSend(pubSubChannel, notification);
+            batchWriter.write(redisKey, null, notification);
 
             log.info("Notification broadcasted to all users");
         } catch (Exception e) {
@@ -0,0 +1,75 @@
+package com.fooddelivery.notificationservice.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.security.Principal;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Who may watch an order's tracking destination: the customer who placed it and the driver assigned to it.
+ *
+ * Redis keeps one hash per order (notification:tracking-access:{orderId}), filled from order and delivery events,
+ * so every instance can check a SUBSCRIBE no matter which one consumed the events.
+ */
+@Slf4j
+@Component
+public class TrackingAccessRegistry {
+
+    private static final String ACCESS_KEY_PREFIX = "notification:tracking-access:";
+    private static final String CUSTOMER_FIELD = "customer";
+    private static final String DRIVER_FIELD = "driver";
+
+    private final RedisTemplate<String, String> stringRedisTemplate;
+
+    @Value("${notification.tracking.access-ttl-hours:24}")
+    private long accessTtlHours;
+
+    @Autowired
+    public TrackingAccessRegistry(@Qualifier("stringRedisTemplate") RedisTemplate<String, String> stringRedisTemplate) {
+        this.stringRedisTemplate = stringRedisTemplate;
+    }
+
+    public void recordCustomer(String orderId, String userId) {
+        record(orderId, CUSTOMER_FIELD, userId);
+    }
+
+    /**
+     * A reassignment overwrites the previous driver, who loses access to the order's positions
+     */
+    public void recordDriver(String orderId, String driverId) {
+        record(orderId, DRIVER_FIELD, driverId);
+    }
+
+    public boolean canTrack(String orderId, Principal user) {
+        if (user == null || user.getName() == null) {
+            return false;
+        }
+        try {
+            List<Object> allowed = stringRedisTemplate.opsForHash()
+                    .multiGet(accessKey(orderId), List.of(CUSTOMER_FIELD, DRIVER_FIELD));
+            return allowed != null && allowed.contains(user.getName());
+        } catch (Exception e) {
+            log.error("Error checking tracking access to order: {}", orderId, e);
+            return false;
+        }
+    }
+
+    private void record(String orderId, String field, String principal) {
+        if (orderId == null || principal == null) {
+            return;
+        }
+        String key = accessKey(orderId);
+        stringRedisTemplate.opsForHash().put(key, field, principal);
+        stringRedisTemplate.expire(key, Duration.ofHours(accessTtlHours));
+    }
+
+    private static String accessKey(String orderId) {
+        return ACCESS_KEY_PREFIX + orderId;
+    }
+}
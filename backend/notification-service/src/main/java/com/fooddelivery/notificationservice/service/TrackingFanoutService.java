@@ -0,0 +1,104 @@
+package com.fooddelivery.notificationservice.service;
+
+import com.fooddelivery.notificationservice.dto.TrackingUpdate;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Slf4j
+@Service
+public class TrackingFanoutService {
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final TrackingSubscriptionRegistry subscriptionRegistry;
+
+    // orderId -> newest position not yet pushed; older positions are simply overwritten
+    private final Map<String, TrackingUpdate> pendingUpdates = new ConcurrentHashMap<>();
+
+    // orderId -> when its last position was pushed
+    private final Map<String, Long> lastSentAt = new ConcurrentHashMap<>();
+
+    // Every subscriber of an order shares its destination, so this is also the per-subscriber rate
+    @Value("${notification.tracking.max-updates-per-second:2}")
+    private int maxUpdatesPerSecond;
+
+    @Autowired
+    public TrackingFanoutService(SimpMessagingTemplate messagingTemplate,
+                                 TrackingSubscriptionRegistry subscriptionRegistry) {
+        this.messagingTemplate = messagingTemplate;
+        this.subscriptionRegistry = subscriptionRegistry;
+    }
+
+    /**
+     * Queue a driver position for the order's tracking destination and push it right away if the order's rate allows.
+     * Otherwise only the latest position per order survives until its next slot.
+     */
+    public void offer(TrackingUpdate update) {
+        if (update.getOrderId() == null || !subscriptionRegistry.hasSubscribers(update.getOrderId())) {
+            return;
+        }
+        pendingUpdates.merge(update.getOrderId(), update, (current, incoming) -> isNewer(incoming, current) ? incoming : current);
+        pushIfDue(update.getOrderId(), System.currentTimeMillis());
+    }
+
+    /**
+     * Push positions held back by the rate limit once their order's interval has passed
+     */
+    @Scheduled(fixedDelayString = "${notification.tracking.flush-interval-ms:100}")
+    public void flush() {
+        lastSentAt.keySet().removeIf(orderId -> !subscriptionRegistry.hasSubscribers(orderId));
+        if (pendingUpdates.isEmpty()) {
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        int sent = 0;
+        for (String orderId : pendingUpdates.keySet()) {
+            if (pushIfDue(orderId, now)) {
+                sent++;
+            }
+        }
+        log.debug("Pushed {} tracking updates", sent);
+    }
+
+    private boolean pushIfDue(String orderId, long now) {
+        long minIntervalMs = 1000L / Math.max(maxUpdatesPerSecond, 1);
+        // Take the order's slot before pushing, so the Kafka consumer and the flush never both push within one interval
+        boolean[] due = new boolean[1];
+        lastSentAt.compute(orderId, (key, last) -> {
+            if (last == null || now - last >= minIntervalMs) {
+                due[0] = true;
+                return now;
+            }
+            return last;
+        });
+        if (!due[0]) {
+            return false;
+        }
+
+        TrackingUpdate update = pendingUpdates.remove(orderId);
+        if (update == null || !subscriptionRegistry.hasSubscribers(orderId)) {
+            return false;
+        }
+        try {
+            messagingTemplate.convertAndSend(TrackingSubscriptionRegistry.destinationFor(orderId), update);
+            return true;
+        } catch (Exception e) {
+            log.error("Error pushing tracking update for order: {}", orderId, e);
+            return false;
+        }
+    }
+
+    private boolean isNewer(TrackingUpdate incoming, TrackingUpdate current) {
+        if (incoming.getTimestamp() == null || current.getTimestamp() == null) {
+            return true;
+        }
+        return !incoming.getTimestamp().isBefore(current.getTimestamp());
+    }
+}
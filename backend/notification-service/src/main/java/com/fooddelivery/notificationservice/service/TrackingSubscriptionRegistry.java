@@ -0,0 +1,94 @@
+package com.fooddelivery.notificationservice.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+import org.springframework.web.socket.messaging.SessionUnsubscribeEvent;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tracks which orders have live tracking subscribers on this instance,
+ * so location updates for orders nobody is watching are dropped before any work is done.
+ */
+@Slf4j
+@Component
+public class TrackingSubscriptionRegistry {
+
+    private static final String DESTINATION_PREFIX = "/topic/order/";
+    private static final String DESTINATION_SUFFIX = "/tracking";
+
+    // sessionId -> (subscriptionId -> orderId)
+    private final Map<String, Map<String, String>> subscriptionsBySession = new ConcurrentHashMap<>();
+    private final Map<String, Integer> subscriberCounts = new ConcurrentHashMap<>();
+
+    public static String destinationFor(String orderId) {
+        return DESTINATION_PREFIX + orderId + DESTINATION_SUFFIX;
+    }
+
+    public boolean hasSubscribers(String orderId) {
+        return subscriberCounts.containsKey(orderId);
+    }
+
+    @EventListener
+    public void onSubscribe(SessionSubscribeEvent event) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
+        String orderId = orderIdFrom(accessor.getDestination());
+        if (orderId == null || accessor.getSessionId() == null || accessor.getSubscriptionId() == null) {
+            return;
+        }
+
+        String previous = subscriptionsBySession
+                .computeIfAbsent(accessor.getSessionId(), key -> new ConcurrentHashMap<>())
+                .put(accessor.getSubscriptionId(), orderId);
+        if (previous != null) {
+            decrement(previous);
+        }
+        subscriberCounts.merge(orderId, 1, Integer::sum);
+        log.debug("Session {} is tracking order {}", accessor.getSessionId(), orderId);
+    }
+
+    @EventListener
+    public void onUnsubscribe(SessionUnsubscribeEvent event) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
+        Map<String, String> subscriptions = subscriptionsBySession.get(accessor.getSessionId());
+        if (subscriptions == null || accessor.getSubscriptionId() == null) {
+            return;
+        }
+
+        String orderId = subscriptions.remove(accessor.getSubscriptionId());
+        if (orderId != null) {
+            decrement(orderId);
+        }
+    }
+
+    @EventListener
+    public void onDisconnect(SessionDisconnectEvent event) {
+        Map<String, String> subscriptions = subscriptionsBySession.remove(event.getSessionId());
+        if (subscriptions != null) {
+            subscriptions.values().forEach(this::decrement);
+        }
+    }
+
+    private void decrement(String orderId) {
+        subscriberCounts.computeIfPresent(orderId, (key, count) -> count > 1 ? count - 1 : null);
+    }
+
+    /**
+     * The order id of a tracking destination, or null for any other destination
+     */
+    public static String orderIdFrom(String destination) {
+        if (destination == null
+                || !destination.startsWith(DESTINATION_PREFIX)
+                || !destination.endsWith(DESTINATION_SUFFIX)) {
+            return null;
+        }
+        String orderId = destination.substring(DESTINATION_PREFIX.length(),
+                destination.length() - DESTINATION_SUFFIX.length());
+        return orderId.isEmpty() || orderId.contains("/") ? null : orderId;
+    }
+}
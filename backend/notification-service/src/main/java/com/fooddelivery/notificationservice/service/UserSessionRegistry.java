@@ -0,0 +1,169 @@
+package com.fooddelivery.notificationservice.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.messaging.SessionConnectedEvent;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+
+import java.security.Principal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Records which notification-service instances hold a WebSocket session for each user.
+ *
+ * Redis keeps one sorted set per user (notification:session-instances:{userId}) of instance ids scored by their last
+ * heartbeat; each instance listens on its own channel, so a user notification is published only to the instances
+ * that can deliver it. An instance that stops heartbeating drops out of every user's set on its own.
+ */
+@Slf4j
+@Component
+public class UserSessionRegistry {
+
+    private static final String SESSIONS_KEY_PREFIX = "notification:session-instances:";
+
+    private final RedisTemplate<String, String> stringRedisTemplate;
+    private final String instanceId = UUID.randomUUID().toString();
+
+    // sessionId -> userId, and userId -> number of local sessions
+    private final Map<String, String> usersBySession = new ConcurrentHashMap<>();
+    private final Map<String, Integer> localSessionCounts = new ConcurrentHashMap<>();
+
+    @Value("${notification.redis.pub-sub-channel:notification:channel}")
+    private String pubSubChannel;
+
+    // An instance whose heartbeat is older than this is treated as gone
+    @Value("${notification.sessions.ttl-seconds:300}")
+    private long sessionTtlSeconds;
+
+    @Autowired
+    public UserSessionRegistry(@Qualifier("stringRedisTemplate") RedisTemplate<String, String> stringRedisTemplate) {
+        this.stringRedisTemplate = stringRedisTemplate;
+    }
+
+    public String getInstanceId() {
+        return instanceId;
+    }
+
+    public String getInstanceChannel() {
+        return channelFor(instanceId);
+    }
+
+    public String channelFor(String targetInstanceId) {
+        return pubSubChannel + ":" + targetInstanceId;
+    }
+
+    public String sessionsKey(String userId) {
+        return SESSIONS_KEY_PREFIX + userId;
+    }
+
+    /**
+     * Heartbeats older than this score belong to instances that are gone
+     */
+    public long liveCutoff() {
+        return System.currentTimeMillis() - sessionTtlSeconds * 1000;
+    }
+
+    @EventListener
+    public void onConnected(SessionConnectedEvent event) {
+        Principal user = event.getUser();
+        String sessionId = (String) event.getMessage().getHeaders().get("simpSessionId");
+        if (user == null || sessionId == null || usersBySession.putIfAbsent(sessionId, user.getName()) != null) {
+            return;
+        }
+
+        String userId = user.getName();
+        if (localSessionCounts.merge(userId, 1, Integer::sum) == 1) {
+            try {
+                String key = sessionsKey(userId);
+                stringRedisTemplate.opsForZSet().add(key, instanceId, System.currentTimeMillis());
+                stringRedisTemplate.opsForZSet().removeRangeByScore(key, 0, liveCutoff());
+                stringRedisTemplate.expire(key, java.time.Duration.ofSeconds(sessionTtlSeconds));
+            } catch (Exception e) {
+                log.error("Error registering session for user: {}", userId, e);
+            }
+        }
+        log.debug("User {} connected to instance {}", userId, instanceId);
+    }
+
+    @EventListener
+    public void onDisconnect(SessionDisconnectEvent event) {
+        // Disconnect can be published more than once per session; only the first one counts
+        String userId = usersBySession.remove(event.getSessionId());
+        if (userId == null) {
+            return;
+        }
+
+        if (localSessionCounts.computeIfPresent(userId, (key, count) -> count > 1 ? count - 1 : null) == null) {
+            try {
+                stringRedisTemplate.opsForZSet().remove(sessionsKey(userId), instanceId);
+            } catch (Exception e) {
+                log.error("Error unregistering session for user: {}", userId, e);
+            }
+        }
+        log.debug("User {} disconnected from instance {}", userId, instanceId);
+    }
+
+    /**
+     * Heartbeat this instance's sessions and prune instances that stopped heartbeating,
+     * so entries left behind by a crashed instance age out even while other instances keep the key alive
+     */
+    @Scheduled(fixedDelayString = "${notification.sessions.refresh-interval-ms:60000}")
+    public void refresh() {
+        List<String> userIds = new ArrayList<>(localSessionCounts.keySet());
+        if (userIds.isEmpty()) {
+            return;
+        }
+
+        RedisSerializer<String> serializer = stringRedisTemplate.getStringSerializer();
+        byte[] member = serializer.serialize(instanceId);
+        long now = System.currentTimeMillis();
+        long cutoff = liveCutoff();
+        try {
+            stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (String userId : userIds) {
+                    byte[] key = serializer.serialize(sessionsKey(userId));
+                    connection.zSetCommands().zAdd(key, now, member);
+                    connection.zSetCommands().zRemRangeByScore(key, 0, cutoff);
+                    connection.keyCommands().expire(key, sessionTtlSeconds);
+                }
+                return null;
+            });
+        } catch (Exception e) {
+            log.error("Error refreshing {} user sessions", userIds.size(), e);
+        }
+    }
+
+    @PreDestroy
+    public void unregisterAll() {
+        List<String> userIds = new ArrayList<>(localSessionCounts.keySet());
+        if (userIds.isEmpty()) {
+            return;
+        }
+
+        RedisSerializer<String> serializer = stringRedisTemplate.getStringSerializer();
+        byte[] member = serializer.serialize(instanceId);
+        try {
+            stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (String userId : userIds) {
+                    connection.zSetCommands().zRem(serializer.serialize(sessionsKey(userId)), member);
+                }
+                return null;
+            });
+        } catch (Exception e) {
+            log.error("Error unregistering sessions on shutdown", e);
+        }
+    }
+}
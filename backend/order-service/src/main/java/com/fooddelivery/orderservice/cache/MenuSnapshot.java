@@ -0,0 +1,50 @@
+package com.fooddelivery.orderservice.cache;
+
+import com.fooddelivery.orderservice.client.dto.MenuItemResponse;
+import com.fooddelivery.orderservice.client.dto.MenuPricingResponse;
+import lombok.Getter;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Getter
+public class MenuSnapshot {
+
+    private final Long restaurantId;
+
+    private final long menuVersion;
+
+    private final boolean restaurantActive;
+
+    private final Map<Long, MenuItemResponse> items;
+
+    private MenuSnapshot(Long restaurantId, long menuVersion, boolean restaurantActive, Map<Long, MenuItemResponse> items) {
+        this.restaurantId = restaurantId;
+        this.menuVersion = menuVersion;
+        this.restaurantActive = restaurantActive;
+        this.items = items;
+    }
+
+    public static MenuSnapshot from(MenuPricingResponse response) {
+        Map<Long, MenuItemResponse> items = response.getItems().stream()
+                .collect(Collectors.toUnmodifiableMap(MenuItemResponse::getId, Function.identity()));
+
+        return new MenuSnapshot(
+                response.getRestaurantId(),
+                response.getMenuVersion() != null ? response.getMenuVersion() : 0L,
+                Boolean.TRUE.equals(response.getRestaurantActive()),
+                items
+        );
+    }
+
+    public MenuItemResponse getItem(Long menuItemId) {
+        return items.get(menuItemId);
+    }
+
+    public boolean containsAll(Collection<Long> menuItemIds) {
+        return items.keySet().containsAll(menuItemIds);
+    }
+
+}
@@ -0,0 +1,82 @@
+package com.fooddelivery.orderservice.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Component
+@Slf4j
+public class MenuSnapshotCache {
+
+    private final Map<Long, Entry> entries;
+
+    // Upper bound on staleness if a menu version event is lost
+    private final long ttlMs;
+
+    public MenuSnapshotCache(@Value("${menu.cache.max-restaurants:1000}") int maxRestaurants,
+                             @Value("${menu.cache.ttl-ms:300000}") long ttlMs) {
+        this.ttlMs = ttlMs;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+                return size() > maxRestaurants;
+            }
+        };
+    }
+
+    public synchronized MenuSnapshot get(Long restaurantId) {
+        Entry entry = entries.get(restaurantId);
+        if (entry == null || entry.snapshot == null) {
+            return null;
+        }
+        if (entry.snapshot.getMenuVersion() < entry.latestVersion
+                || System.currentTimeMillis() - entry.loadedAt > ttlMs) {
+            entry.snapshot = null;
+            return null;
+        }
+        return entry.snapshot;
+    }
+
+    public synchronized void put(MenuSnapshot snapshot) {
+        Entry entry = entries.computeIfAbsent(snapshot.getRestaurantId(), id -> new Entry());
+        // A load that raced with an invalidation must not resurrect an older menu
+        if (snapshot.getMenuVersion() < entry.latestVersion) {
+            log.debug("Discarding stale menu snapshot v{} for restaurant {}", snapshot.getMenuVersion(), snapshot.getRestaurantId());
+            return;
+        }
+        entry.snapshot = snapshot;
+        entry.latestVersion = snapshot.getMenuVersion();
+        entry.loadedAt = System.currentTimeMillis();
+    }
+
+    public synchronized void onMenuVersion(Long restaurantId, long menuVersion) {
+        Entry entry = entries.computeIfAbsent(restaurantId, id -> new Entry());
+        if (menuVersion > entry.latestVersion) {
+            entry.latestVersion = menuVersion;
+            entry.snapshot = null;
+            log.debug("Invalidated menu snapshot for restaurant {} at version {}", restaurantId, menuVersion);
+        }
+    }
+
+    public synchronized void evict(Long restaurantId) {
+        Entry entry = entries.get(restaurantId);
+        if (entry != null) {
+            entry.snapshot = null;
+            log.debug("Evicted menu snapshot for restaurant {}", restaurantId);
+        }
+    }
+
+    private static final class Entry {
+
+        private MenuSnapshot snapshot;
+
+        private long latestVersion;
+
+        private long loadedAt;
+
+    }
+
+}
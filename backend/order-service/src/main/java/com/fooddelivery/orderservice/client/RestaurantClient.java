@@ -1,6 +1,7 @@
 package com.fooddelivery.orderservice.client;
 
 import com.fooddelivery.orderservice.client.dto.MenuItemResponse;
+import com.fooddelivery.orderservice.client.dto.MenuPricingResponse;
 import com.fooddelivery.orderservice.client.dto.RestaurantResponse;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -20,4 +21,7 @@ public interface RestaurantClient {
     @GetMapping("/restaurants/{restaurantId}/menu-items")
     List<MenuItemResponse> getMenuItems(@PathVariable("restaurantId") Long restaurantId);
 
+    @GetMapping("/restaurants/{restaurantId}/menu/pricing")
+    MenuPricingResponse getMenuSnapshot(@PathVariable("restaurantId") Long restaurantId);
+
 }
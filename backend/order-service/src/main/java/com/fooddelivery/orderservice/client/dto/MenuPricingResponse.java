@@ -0,0 +1,26 @@
+package com.fooddelivery.orderservice.client.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MenuPricingResponse {
+
+    private Long restaurantId;
+
+    private Boolean restaurantActive;
+
+    private Long menuVersion;
+
+    private List<MenuItemResponse> items;
+
+    private List<Long> missingItemIds;
+
+}
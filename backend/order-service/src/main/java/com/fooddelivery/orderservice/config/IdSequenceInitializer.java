@@ -0,0 +1,42 @@
+package com.fooddelivery.orderservice.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Moves the pooled id sequences of orders and order items past ids already in use.
+ *
+ * MySQL has no sequences, so Hibernate keeps them in orders_seq / order_items_seq tables, which start at 1
+ * when first created. Rows inserted earlier under AUTO_INCREMENT keys must never be handed out again.
+ *
+ * Runs once all singletons exist - so Hibernate has created the sequence tables - but before the context
+ * starts its lifecycle beans: the web server, Kafka and RabbitMQ listeners and the scheduler. No insert can take
+ * an id before the sequences are aligned.
+ */
+@Component
+@Slf4j
+public class IdSequenceInitializer implements SmartInitializingSingleton {
+
+    // Must match allocationSize on the Order and OrderItem id generators
+    private static final int ALLOCATION_SIZE = 50;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        align("orders_seq", "orders");
+        align("order_items_seq", "order_items");
+    }
+
+    private void align(String sequenceTable, String table) {
+        // A whole block ahead of the highest id, whichever end of the block the optimizer hands out first
+        jdbcTemplate.update("UPDATE " + sequenceTable + " SET next_val = GREATEST(next_val, " +
+                "(SELECT COALESCE(MAX(id), 0) + ? FROM " + table + "))", ALLOCATION_SIZE + 1);
+        Long nextVal = jdbcTemplate.queryForObject("SELECT next_val FROM " + sequenceTable, Long.class);
+        log.info("Id sequence {} starts at {}", sequenceTable, nextVal);
+    }
+}
@@ -1,21 +1,29 @@
 package com.fooddelivery.orderservice.config;
 
 import org.springframework.amqp.core.*;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.amqp.support.converter.MessageConverter;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 @Configuration
 public class RabbitMQConfig {
 
-    public static final String ORDER_DELIVERY_ASSIGNMENT_QUEUE = "order.delivery.assignment";
+    // Versioned name, see delivery-service's RabbitMQConfig; the routing key is unchanged
+    public static final String ORDER_DELIVERY_ASSIGNMENT_QUEUE = "order.delivery.assignment.v2";
+    public static final String ORDER_DELIVERY_ASSIGNMENT_DLQ = "order.delivery.assignment.v2.dlq";
     public static final String ORDER_NOTIFICATIONS_QUEUE = "order.notifications";
     public static final String ORDER_EXCHANGE = "order.exchange";
     public static final String ORDER_DELIVERY_ROUTING_KEY = "order.delivery.assignment";
     public static final String ORDER_NOTIFICATION_ROUTING_KEY = "order.notification";
 
+    // Must match the declaration in delivery-service, which dead-letters assignments it cannot process
     @Bean
     public Queue orderDeliveryAssignmentQueue() {
-        return new Queue(ORDER_DELIVERY_ASSIGNMENT_QUEUE, true, false, false);
+        return QueueBuilder.durable(ORDER_DELIVERY_ASSIGNMENT_QUEUE)
+                .deadLetterExchange("")
+                .deadLetterRoutingKey(ORDER_DELIVERY_ASSIGNMENT_DLQ)
+                .build();
     }
 
     @Bean
@@ -42,4 +50,9 @@ public class RabbitMQConfig {
                 .with(ORDER_NOTIFICATION_ROUTING_KEY);
     }
 
+    @Bean
+    public MessageConverter jsonMessageConverter() {
+        return new Jackson2JsonMessageConverter();
+    }
+
 }
@@ -1,15 +1,19 @@
 package com.fooddelivery.orderservice.controller;
 
 import com.fooddelivery.orderservice.dto.CreateOrderRequest;
+import com.fooddelivery.orderservice.dto.OrderPage;
 import com.fooddelivery.orderservice.dto.OrderResponse;
 import com.fooddelivery.orderservice.dto.UpdateOrderStatusRequest;
+import com.fooddelivery.orderservice.service.KitchenBoardService;
 import com.fooddelivery.orderservice.service.OrderService;
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 
@@ -18,9 +22,15 @@ import java.util.List;
 @Slf4j
 public class OrderController {
 
+    // Opaque cursor for the next page of an order list; absent on the last page
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     @Autowired
     private OrderService orderService;
 
+    @Autowired
+    private KitchenBoardService kitchenBoardService;
+
     @PostMapping
     public ResponseEntity<OrderResponse> createOrder(@Valid @RequestBody CreateOrderRequest request) {
         log.info("Creating new order for user: {}", request.getUserId());
@@ -29,10 +39,12 @@ public class OrderController {
     }
 
     @GetMapping("/my-orders")
-    public ResponseEntity<List<OrderResponse>> getMyOrders(@RequestHeader("X-User-Id") String userId) {
+    public ResponseEntity<List<OrderResponse>> getMyOrders(
+            @RequestHeader("X-User-Id") String userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit) {
         log.info("Fetching orders for current user: {}", userId);
-        List<OrderResponse> responses = orderService.getUserOrders(userId);
-        return ResponseEntity.ok(responses);
+        return toPageResponse(orderService.getUserOrders(userId, cursor, limit));
     }
 
     @GetMapping("/{id}")
@@ -43,17 +55,28 @@ public class OrderController {
     }
 
     @GetMapping("/user/{userId}")
-    public ResponseEntity<List<OrderResponse>> getUserOrders(@PathVariable String userId) {
+    public ResponseEntity<List<OrderResponse>> getUserOrders(
+            @PathVariable String userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit) {
         log.info("Fetching orders for user: {}", userId);
-        List<OrderResponse> responses = orderService.getUserOrders(userId);
-        return ResponseEntity.ok(responses);
+        return toPageResponse(orderService.getUserOrders(userId, cursor, limit));
     }
 
     @GetMapping("/restaurant/{restaurantId}")
-    public ResponseEntity<List<OrderResponse>> getRestaurantOrders(@PathVariable Long restaurantId) {
+    public ResponseEntity<List<OrderResponse>> getRestaurantOrders(
+            @PathVariable Long restaurantId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit) {
         log.info("Fetching orders for restaurant: {}", restaurantId);
-        List<OrderResponse> responses = orderService.getRestaurantOrders(restaurantId);
-        return ResponseEntity.ok(responses);
+        return toPageResponse(orderService.getRestaurantOrders(restaurantId, cursor, limit));
+    }
+
+    // Snapshot of the restaurant's open orders followed by live changes, instead of polling the list above
+    @GetMapping(value = "/restaurant/{restaurantId}/board", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamKitchenBoard(@PathVariable Long restaurantId) {
+        log.info("Opening kitchen board stream for restaurant: {}", restaurantId);
+        return kitchenBoardService.subscribe(restaurantId);
     }
 
     @PutMapping("/{id}/status")
@@ -72,4 +95,13 @@ public class OrderController {
         return ResponseEntity.noContent().build();
     }
 
+    // The body stays a plain list so existing clients keep working; the cursor travels in a header
+    private ResponseEntity<List<OrderResponse>> toPageResponse(OrderPage page) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(page.getOrders());
+    }
+
 }
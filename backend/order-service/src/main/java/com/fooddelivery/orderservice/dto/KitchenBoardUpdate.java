@@ -0,0 +1,28 @@
+package com.fooddelivery.orderservice.dto;
+
+import com.fooddelivery.orderservice.entity.OrderStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Status change of an order already on a kitchen board; boards apply it only if version is newer than theirs
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class KitchenBoardUpdate {
+
+    private Long orderId;
+
+    private OrderStatus orderStatus;
+
+    private Long version;
+
+    private LocalDateTime timestamp;
+
+}
@@ -0,0 +1,46 @@
+package com.fooddelivery.orderservice.dto;
+
+import com.fooddelivery.orderservice.exception.InvalidCursorException;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Keyset position in an order list sorted by (createdAt DESC, id DESC): the last order of the previous page.
+ * Clients treat the encoded form as opaque.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderCursor {
+
+    private LocalDateTime createdAt;
+
+    private Long id;
+
+    public String encode() {
+        String raw = createdAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Returns null for a missing cursor, i.e. the first page
+     */
+    public static OrderCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf('|');
+            return new OrderCursor(LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.valueOf(raw.substring(separator + 1)));
+        } catch (RuntimeException ex) {
+            throw new InvalidCursorException("Invalid cursor: " + cursor, ex);
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.fooddelivery.orderservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OrderPage implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private List<OrderResponse> orders;
+
+    // Null on the last page
+    private String nextCursor;
+
+}
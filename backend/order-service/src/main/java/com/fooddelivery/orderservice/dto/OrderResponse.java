@@ -39,4 +39,6 @@ public class OrderResponse implements Serializable {
 
     private LocalDateTime updatedAt;
 
+    private Long version;
+
 }
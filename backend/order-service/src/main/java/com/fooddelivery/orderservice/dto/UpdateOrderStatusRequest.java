@@ -16,4 +16,7 @@ public class UpdateOrderStatusRequest {
     @NotNull(message = "Order status cannot be null")
     private OrderStatus orderStatus;
 
+    // Optional optimistic check: the update is rejected if the order's version has moved on
+    private Long expectedVersion;
+
 }
@@ -13,15 +13,21 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
-@Table(name = "orders")
+@Table(name = "orders", indexes = {
+        // Keyset pagination of order history: equality column first, then the sort keys
+        @Index(name = "idx_orders_user_created", columnList = "user_id, created_at, id"),
+        @Index(name = "idx_orders_restaurant_created", columnList = "restaurant_id, created_at, id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 public class Order {
 
+    // Pooled ids are allocated in blocks, so inserts can be batched instead of run one at a time for the key
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "orders_seq")
+    @SequenceGenerator(name = "orders_seq", sequenceName = "orders_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -54,4 +60,9 @@ public class Order {
     @Column(nullable = false)
     private LocalDateTime updatedAt;
 
+    // Bumped by every status transition; rows from before this column existed start at 0
+    @Version
+    @Column(nullable = false, columnDefinition = "BIGINT DEFAULT 0")
+    private Long version;
+
 }
@@ -1,5 +1,11 @@
 package com.fooddelivery.orderservice.entity;
 
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
 public enum OrderStatus {
     PENDING,
     CONFIRMED,
@@ -8,5 +14,38 @@ public enum OrderStatus {
     PICKED_UP,
     DELIVERING,
     DELIVERED,
-    CANCELLED
+    CANCELLED;
+
+    // Transition table: status -> statuses an order may move to from it
+    private static final Map<OrderStatus, Set<OrderStatus>> TRANSITIONS = new EnumMap<>(OrderStatus.class);
+
+    // Inverse of TRANSITIONS: status -> statuses an order may come from
+    private static final Map<OrderStatus, Set<OrderStatus>> PREDECESSORS = new EnumMap<>(OrderStatus.class);
+
+    static {
+        TRANSITIONS.put(PENDING, EnumSet.of(CONFIRMED, CANCELLED));
+        TRANSITIONS.put(CONFIRMED, EnumSet.of(PREPARING, CANCELLED));
+        TRANSITIONS.put(PREPARING, EnumSet.of(READY_FOR_PICKUP, CANCELLED));
+        TRANSITIONS.put(READY_FOR_PICKUP, EnumSet.of(PICKED_UP));
+        TRANSITIONS.put(PICKED_UP, EnumSet.of(DELIVERING, DELIVERED));
+        TRANSITIONS.put(DELIVERING, EnumSet.of(DELIVERED));
+        TRANSITIONS.put(DELIVERED, EnumSet.noneOf(OrderStatus.class));
+        TRANSITIONS.put(CANCELLED, EnumSet.noneOf(OrderStatus.class));
+
+        for (OrderStatus status : values()) {
+            PREDECESSORS.put(status, EnumSet.noneOf(OrderStatus.class));
+        }
+        TRANSITIONS.forEach((from, targets) -> targets.forEach(to -> PREDECESSORS.get(to).add(from)));
+    }
+
+    public boolean canTransitionTo(OrderStatus target) {
+        return TRANSITIONS.get(this).contains(target);
+    }
+
+    /**
+     * Statuses from which an order may move to this one
+     */
+    public Set<OrderStatus> allowedPredecessors() {
+        return Collections.unmodifiableSet(PREDECESSORS.get(this));
+    }
 }
@@ -0,0 +1,52 @@
+package com.fooddelivery.orderservice.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "outbox_events")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private String topic;
+
+    @Column(nullable = false)
+    private String messageKey;
+
+    // Set for messages relayed to RabbitMQ, where topic names the exchange; null for Kafka events
+    @Column
+    private String routingKey;
+
+    @Column(nullable = false)
+    private String eventType;
+
+    @Lob
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String payload;
+
+    @CreationTimestamp
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    // Set when the row can never be published (unreadable payload); the relay skips it and it stays for inspection
+    @Column
+    private LocalDateTime failedAt;
+
+    @Column(length = 1000)
+    private String failureReason;
+
+}
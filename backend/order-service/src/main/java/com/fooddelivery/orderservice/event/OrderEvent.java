@@ -25,6 +25,9 @@ public class OrderEvent {
 
     private BigDecimal totalAmount;
 
+    // Order version after the change, so consumers can discard events older than what they already hold
+    private Long version;
+
     private String eventType;
 
     private LocalDateTime timestamp;
@@ -0,0 +1,13 @@
+package com.fooddelivery.orderservice.exception;
+
+public class InvalidStatusTransitionException extends RuntimeException {
+
+    public InvalidStatusTransitionException(String message) {
+        super(message);
+    }
+
+    public InvalidStatusTransitionException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+}
@@ -0,0 +1,379 @@
+package com.fooddelivery.orderservice.readmodel;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fooddelivery.orderservice.dto.OrderCursor;
+import com.fooddelivery.orderservice.dto.OrderPage;
+import com.fooddelivery.orderservice.dto.OrderResponse;
+import com.fooddelivery.orderservice.entity.OrderStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.DefaultTypedTuple;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations.TypedTuple;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scripting.support.ResourceScriptSource;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Redis read model for order history: one JSON document per order, plus a per-user index sorted newest first.
+ *
+ * It is written from order.events (and directly after this instance's own commits) and rebuilt from MySQL by
+ * OrderReadModelRebuilder. Reads return empty whenever the model cannot answer completely - before the first
+ * rebuild has finished, for a document not projected yet, or when Redis is unavailable - and the caller falls
+ * back to the database.
+ */
+@Component
+@Slf4j
+public class OrderReadModel {
+
+    private static final String DOCUMENT_PREFIX = "orders:doc:";
+    private static final String USER_INDEX_PREFIX = "orders:user:";
+    private static final String PENDING_STATUS_PREFIX = "orders:pending-status:";
+    private static final String READY_KEY = "orders:read-model:ready";
+    private static final String REBUILD_LOCK_KEY = "orders:read-model:rebuild-lock";
+
+    // Long enough to outlive any rebuild that might write the document with an older status
+    private static final Duration PENDING_STATUS_TTL = Duration.ofDays(1);
+
+    // A write that lost a race re-reads and decides again; more losses than this means heavy contention on one order
+    private static final int MAX_WRITE_ATTEMPTS = 5;
+
+    // Version tokens shared with read_model_compare_and_set.lua
+    private static final String ABSENT = "none";
+    private static final String NO_VERSION = "?";
+    private static final String WRITE_DOCUMENT = "1";
+    private static final String WRITE_PENDING_STATUS = "2";
+
+    private static final RedisScript<List<Long>> COMPARE_AND_SET = compareAndSetScript();
+
+    @Autowired
+    private StringRedisTemplate redisTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    public Optional<OrderResponse> findOrder(Long orderId) {
+        try {
+            return Optional.ofNullable(parse(redisTemplate.opsForValue().get(documentKey(orderId))));
+        } catch (DataAccessException e) {
+            log.warn("Order read model unavailable, reading order {} from the database: {}", orderId, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * A page of the user's orders, newest first, or empty if the database has to answer
+     */
+    public Optional<OrderPage> findUserOrders(String userId, OrderCursor after, int size) {
+        try {
+            if (!isReady()) {
+                return Optional.empty();
+            }
+
+            String indexKey = userIndexKey(userId);
+            long start = 0;
+            if (after != null) {
+                Long rank = redisTemplate.opsForZSet().reverseRank(indexKey, member(after.getId()));
+                if (rank == null) {
+                    return Optional.empty();
+                }
+                start = rank + 1;
+            }
+
+            // One extra entry only signals that another page exists
+            Set<String> members = redisTemplate.opsForZSet().reverseRange(indexKey, start, start + size);
+            if (members == null) {
+                return Optional.empty();
+            }
+            List<String> page = new ArrayList<>(members);
+            boolean hasMore = page.size() > size;
+            if (hasMore) {
+                page = page.subList(0, size);
+            }
+            if (page.isEmpty()) {
+                return Optional.of(OrderPage.builder().orders(List.of()).build());
+            }
+
+            List<String> documents = redisTemplate.opsForValue()
+                    .multiGet(page.stream().map(id -> documentKey(Long.valueOf(id))).toList());
+            List<OrderResponse> orders = new ArrayList<>(page.size());
+            for (String document : documents) {
+                OrderResponse order = parse(document);
+                if (order == null) {
+                    return Optional.empty();
+                }
+                orders.add(order);
+            }
+
+            OrderResponse last = orders.get(orders.size() - 1);
+            return Optional.of(OrderPage.builder()
+                    .orders(orders)
+                    .nextCursor(hasMore ? new OrderCursor(last.getCreatedAt(), last.getId()).encode() : null)
+                    .build());
+        } catch (DataAccessException e) {
+            log.warn("Order read model unavailable, reading orders of user {} from the database: {}", userId, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Store full order documents, skipping any the model already holds at a newer version.
+     * A status change that arrived before the document (see applyStatusChange) is applied on top if it is newer.
+     */
+    public void saveAll(List<OrderResponse> orders) {
+        List<OrderResponse> remaining = orders;
+        for (int attempt = 0; attempt < MAX_WRITE_ATTEMPTS && !remaining.isEmpty(); attempt++) {
+            remaining = trySaveAll(remaining);
+        }
+        if (!remaining.isEmpty()) {
+            log.warn("Gave up storing {} order documents after repeated concurrent updates", remaining.size());
+        }
+    }
+
+    /**
+     * Apply a status change to an order document, if the model holds it at an older version
+     */
+    public void applyStatusChange(Long orderId, OrderStatus orderStatus, Long version, LocalDateTime updatedAt) {
+        for (int attempt = 0; attempt < MAX_WRITE_ATTEMPTS; attempt++) {
+            if (tryApplyStatusChange(orderId, orderStatus, version, updatedAt)) {
+                return;
+            }
+        }
+        log.warn("Gave up applying status {} to order {} after repeated concurrent updates", orderStatus, orderId);
+    }
+
+    /**
+     * One read-decide-write pass over the orders; returns those whose entries changed after they were read
+     */
+    private List<OrderResponse> trySaveAll(List<OrderResponse> orders) {
+        List<String> existing = redisTemplate.opsForValue()
+                .multiGet(orders.stream().map(order -> documentKey(order.getId())).toList());
+        List<String> pending = redisTemplate.opsForValue()
+                .multiGet(orders.stream().map(order -> pendingStatusKey(order.getId())).toList());
+
+        List<OrderResponse> writes = new ArrayList<>();
+        List<String> keys = new ArrayList<>();
+        List<String> args = new ArrayList<>();
+        for (int i = 0; i < orders.size(); i++) {
+            OrderResponse order = orders.get(i);
+            String document = existing != null ? existing.get(i) : null;
+            OrderResponse current = parse(document);
+            if (current != null && isOlder(order.getVersion(), current.getVersion())) {
+                continue;
+            }
+            String pendingValue = pending != null ? pending.get(i) : null;
+            StatusChange change = parseStatusChange(pendingValue);
+            if (change != null && isOlder(order.getVersion(), change.getVersion())) {
+                order.setOrderStatus(change.getOrderStatus());
+                order.setVersion(change.getVersion());
+                order.setUpdatedAt(change.getUpdatedAt());
+            }
+            writes.add(order);
+            addCompareAndSet(keys, args, order.getId(),
+                    versionToken(document, current != null ? current.getVersion() : null),
+                    versionToken(pendingValue, change != null ? change.getVersion() : null),
+                    WRITE_DOCUMENT, serialize(order), null);
+        }
+        if (writes.isEmpty()) {
+            return List.of();
+        }
+
+        List<Long> results = redisTemplate.execute(COMPARE_AND_SET, keys, args.toArray());
+        List<OrderResponse> conflicts = new ArrayList<>();
+        Map<String, Set<TypedTuple<String>>> indexEntries = new HashMap<>();
+        for (int i = 0; i < writes.size(); i++) {
+            OrderResponse order = writes.get(i);
+            if (results == null || results.get(i) != 1L) {
+                conflicts.add(order);
+                continue;
+            }
+            indexEntries.computeIfAbsent(userIndexKey(order.getUserId()), key -> new HashSet<>())
+                    .add(new DefaultTypedTuple<>(member(order.getId()), score(order.getCreatedAt())));
+        }
+        indexEntries.forEach((key, entries) -> redisTemplate.opsForZSet().add(key, entries));
+        return conflicts;
+    }
+
+    /**
+     * One read-decide-write pass; false if the document or pending status changed after it was read
+     */
+    private boolean tryApplyStatusChange(Long orderId, OrderStatus orderStatus, Long version, LocalDateTime updatedAt) {
+        List<String> values = redisTemplate.opsForValue().multiGet(List.of(documentKey(orderId), pendingStatusKey(orderId)));
+        String document = values != null ? values.get(0) : null;
+        String pendingValue = values != null ? values.get(1) : null;
+        OrderResponse current = parse(document);
+        StatusChange pending = parseStatusChange(pendingValue);
+        String documentVersion = versionToken(document, current != null ? current.getVersion() : null);
+        String pendingVersion = versionToken(pendingValue, pending != null ? pending.getVersion() : null);
+
+        List<String> keys = new ArrayList<>();
+        List<String> args = new ArrayList<>();
+        if (current == null) {
+            // The document is written later by the creation event or a rebuild that may have read an older
+            // version; keep the change so saveAll applies it instead of storing the stale status
+            if (pending != null && !isOlder(pending.getVersion(), version)) {
+                return true;
+            }
+            addCompareAndSet(keys, args, orderId, documentVersion, pendingVersion, WRITE_PENDING_STATUS,
+                    serialize(new StatusChange(orderStatus, version, updatedAt)), PENDING_STATUS_TTL);
+        } else {
+            if (version != null && current.getVersion() != null && version <= current.getVersion()) {
+                return true;
+            }
+            current.setOrderStatus(orderStatus);
+            current.setVersion(version);
+            current.setUpdatedAt(updatedAt);
+            addCompareAndSet(keys, args, orderId, documentVersion, pendingVersion, WRITE_DOCUMENT,
+                    serialize(current), null);
+        }
+
+        List<Long> results = redisTemplate.execute(COMPARE_AND_SET, keys, args.toArray());
+        return results != null && results.get(0) == 1L;
+    }
+
+    public boolean tryLockRebuild(String owner, Duration timeout) {
+        return Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(REBUILD_LOCK_KEY, owner, timeout));
+    }
+
+    public void unlockRebuild(String owner) {
+        try {
+            // Only the holder releases the lock; an expired lock may already belong to another instance
+            if (owner.equals(redisTemplate.opsForValue().get(REBUILD_LOCK_KEY))) {
+                redisTemplate.delete(REBUILD_LOCK_KEY);
+            }
+        } catch (DataAccessException e) {
+            log.warn("Could not release read model rebuild lock, it expires on its own: {}", e.getMessage());
+        }
+    }
+
+    public void markRebuilt() {
+        redisTemplate.opsForValue().set(READY_KEY, LocalDateTime.now().toString());
+    }
+
+    /**
+     * Checked on every read rather than remembered: if Redis is flushed or loses keys, the marker goes with them
+     * and reads fall back to the database until the model has been rebuilt
+     */
+    public boolean isReady() {
+        return Boolean.TRUE.equals(redisTemplate.hasKey(READY_KEY));
+    }
+
+    private static void addCompareAndSet(List<String> keys, List<String> args, Long orderId, String documentVersion,
+                                         String pendingVersion, String target, String value, Duration ttl) {
+        keys.add(documentKey(orderId));
+        keys.add(pendingStatusKey(orderId));
+        args.add(documentVersion);
+        args.add(pendingVersion);
+        args.add(target);
+        args.add(value);
+        args.add(ttl != null ? String.valueOf(ttl.toMillis()) : "0");
+    }
+
+    /**
+     * The version as the compare-and-set script sees it: absent, present without a readable version, or the number
+     */
+    private static String versionToken(String value, Long version) {
+        if (value == null) {
+            return ABSENT;
+        }
+        return version != null ? version.toString() : NO_VERSION;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static RedisScript<List<Long>> compareAndSetScript() {
+        DefaultRedisScript script = new DefaultRedisScript<>();
+        script.setScriptSource(new ResourceScriptSource(new ClassPathResource("scripts/read_model_compare_and_set.lua")));
+        script.setResultType(List.class);
+        return script;
+    }
+
+    private boolean isOlder(Long version, Long currentVersion) {
+        return version != null && currentVersion != null && version < currentVersion;
+    }
+
+    private String serialize(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize read model entry", e);
+        }
+    }
+
+    private OrderResponse parse(String document) {
+        if (document == null) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(document, OrderResponse.class);
+        } catch (JsonProcessingException e) {
+            log.warn("Ignoring unreadable order document: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private StatusChange parseStatusChange(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(value, StatusChange.class);
+        } catch (JsonProcessingException e) {
+            log.warn("Ignoring unreadable pending status change: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private static String documentKey(Long orderId) {
+        return DOCUMENT_PREFIX + orderId;
+    }
+
+    private static String pendingStatusKey(Long orderId) {
+        return PENDING_STATUS_PREFIX + orderId;
+    }
+
+    private static String userIndexKey(String userId) {
+        return USER_INDEX_PREFIX + userId;
+    }
+
+    // Zero-padded so orders created in the same millisecond sort by id, like the database keyset order
+    private static String member(Long orderId) {
+        return String.format("%019d", orderId);
+    }
+
+    private static double score(LocalDateTime createdAt) {
+        return createdAt.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    /**
+     * A status change received before its order's document existed
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    static class StatusChange {
+
+        private OrderStatus orderStatus;
+
+        private Long version;
+
+        private LocalDateTime updatedAt;
+    }
+}
@@ -0,0 +1,41 @@
+package com.fooddelivery.orderservice.readmodel;
+
+import com.fooddelivery.orderservice.event.OrderEvent;
+import com.fooddelivery.orderservice.exception.OrderNotFoundException;
+import com.fooddelivery.orderservice.service.OrderService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Applies order.events to the read model
+ */
+@Component
+@Slf4j
+public class OrderReadModelProjector {
+
+    private static final String ORDER_CREATED_EVENT = "ORDER_CREATED";
+
+    @Autowired
+    private OrderReadModel orderReadModel;
+
+    @Autowired
+    private OrderService orderService;
+
+    public void apply(OrderEvent event) {
+        if (ORDER_CREATED_EVENT.equals(event.getEventType())) {
+            // The event has no items or address, so the full document is read once from the database
+            try {
+                orderReadModel.saveAll(List.of(orderService.loadOrder(event.getOrderId())));
+            } catch (OrderNotFoundException e) {
+                log.warn("Order {} from event no longer exists", event.getOrderId());
+            }
+            return;
+        }
+
+        orderReadModel.applyStatusChange(event.getOrderId(), event.getOrderStatus(), event.getVersion(),
+                event.getTimestamp());
+    }
+}
@@ -0,0 +1,114 @@
+package com.fooddelivery.orderservice.readmodel;
+
+import com.fooddelivery.orderservice.dto.OrderResponse;
+import com.fooddelivery.orderservice.service.OrderService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Rebuilds the order read model from MySQL.
+ *
+ * Runs on startup when no completed rebuild is recorded in Redis, or on demand by starting the service with
+ * --read-model.rebuild=true. The copy runs in the background, in id order and in batches; reads keep falling
+ * back to the database until it has finished. A Redis lock keeps concurrently starting instances from
+ * rebuilding at the same time.
+ *
+ * The completion marker is re-checked periodically, so a model lost with a Redis flush or restart is rebuilt
+ * without restarting the service.
+ */
+@Component
+@Slf4j
+public class OrderReadModelRebuilder implements ApplicationRunner {
+
+    private static final Duration LOCK_TIMEOUT = Duration.ofMinutes(30);
+
+    @Autowired
+    private OrderReadModel orderReadModel;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Value("${read-model.rebuild:false}")
+    private boolean rebuildRequested;
+
+    @Value("${read-model.rebuild-batch-size:500}")
+    private int batchSize;
+
+    // At most one rebuild thread per instance
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    @Override
+    public void run(ApplicationArguments args) {
+        startIfNeeded(rebuildRequested);
+    }
+
+    @Scheduled(initialDelayString = "${read-model.ready-check-interval-ms:60000}",
+            fixedDelayString = "${read-model.ready-check-interval-ms:60000}")
+    public void checkReady() {
+        startIfNeeded(false);
+    }
+
+    private void startIfNeeded(boolean force) {
+        try {
+            if (!force && orderReadModel.isReady()) {
+                return;
+            }
+        } catch (DataAccessException e) {
+            log.warn("Redis unavailable, skipping order read model rebuild: {}", e.getMessage());
+            return;
+        }
+        if (!running.compareAndSet(false, true)) {
+            return;
+        }
+
+        Thread rebuild = new Thread(() -> {
+            try {
+                rebuild();
+            } finally {
+                running.set(false);
+            }
+        }, "order-read-model-rebuild");
+        rebuild.setDaemon(true);
+        rebuild.start();
+    }
+
+    public void rebuild() {
+        String owner = UUID.randomUUID().toString();
+        if (!orderReadModel.tryLockRebuild(owner, LOCK_TIMEOUT)) {
+            log.info("Order read model rebuild already running on another instance");
+            return;
+        }
+
+        long start = System.currentTimeMillis();
+        long afterId = 0;
+        int rebuilt = 0;
+        try {
+            while (true) {
+                List<OrderResponse> batch = orderService.getOrdersAfterId(afterId, batchSize);
+                if (batch.isEmpty()) {
+                    break;
+                }
+                orderReadModel.saveAll(batch);
+                rebuilt += batch.size();
+                afterId = batch.get(batch.size() - 1).getId();
+            }
+            orderReadModel.markRebuilt();
+            log.info("Rebuilt order read model with {} orders in {} ms", rebuilt, System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            log.error("Order read model rebuild failed after {} orders", rebuilt, e);
+        } finally {
+            orderReadModel.unlockRebuild(owner);
+        }
+    }
+}
@@ -2,8 +2,11 @@ package com.fooddelivery.orderservice.repository;
 
 import com.fooddelivery.orderservice.entity.OrderItem;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -11,4 +14,9 @@ public interface OrderItemRepository extends JpaRepository<OrderItem, Long> {
 
     List<OrderItem> findByOrderId(Long orderId);
 
+    @Query("SELECT i.order.id AS orderId, i.id AS id, i.menuItemId AS menuItemId, i.menuItemName AS menuItemName, " +
+            "i.quantity AS quantity, i.price AS price " +
+            "FROM OrderItem i WHERE i.order.id IN :orderIds ORDER BY i.id")
+    List<OrderItemView> findViewsByOrderIdIn(@Param("orderIds") Collection<Long> orderIds);
+
 }
@@ -0,0 +1,22 @@
+package com.fooddelivery.orderservice.repository;
+
+import java.math.BigDecimal;
+
+/**
+ * Order item columns for list views, loaded for a whole page of orders in one query.
+ */
+public interface OrderItemView {
+
+    Long getOrderId();
+
+    Long getId();
+
+    Long getMenuItemId();
+
+    String getMenuItemName();
+
+    Integer getQuantity();
+
+    BigDecimal getPrice();
+
+}
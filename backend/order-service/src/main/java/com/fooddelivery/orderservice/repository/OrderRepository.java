@@ -2,14 +2,31 @@ package com.fooddelivery.orderservice.repository;
 
 import com.fooddelivery.orderservice.entity.Order;
 import com.fooddelivery.orderservice.entity.OrderStatus;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface OrderRepository extends JpaRepository<Order, Long> {
 
+    String SUMMARY_SELECT = "SELECT o.id AS id, o.userId AS userId, o.restaurantId AS restaurantId, " +
+            "o.orderStatus AS orderStatus, o.totalAmount AS totalAmount, o.deliveryAddress AS deliveryAddress, " +
+            "o.specialInstructions AS specialInstructions, o.createdAt AS createdAt, o.updatedAt AS updatedAt, o.version AS version " +
+            "FROM Order o ";
+
+    // Keyset condition: strictly after the cursor in (createdAt DESC, id DESC) order
+    String AFTER_CURSOR = "AND (o.createdAt < :createdAt OR (o.createdAt = :createdAt AND o.id < :id)) ";
+
+    String NEWEST_FIRST = "ORDER BY o.createdAt DESC, o.id DESC";
+
     List<Order> findByUserId(String userId);
 
     List<Order> findByRestaurantId(Long restaurantId);
@@ -18,4 +35,47 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
 
     List<Order> findByUserIdOrderByCreatedAtDesc(String userId);
 
+    @Query(SUMMARY_SELECT + "WHERE o.userId = :userId " + NEWEST_FIRST)
+    List<OrderSummaryView> findUserOrderPage(@Param("userId") String userId, Pageable pageable);
+
+    @Query(SUMMARY_SELECT + "WHERE o.userId = :userId " + AFTER_CURSOR + NEWEST_FIRST)
+    List<OrderSummaryView> findUserOrderPageAfter(@Param("userId") String userId,
+                                                  @Param("createdAt") LocalDateTime createdAt,
+                                                  @Param("id") Long id,
+                                                  Pageable pageable);
+
+    @Query(SUMMARY_SELECT + "WHERE o.restaurantId = :restaurantId " + NEWEST_FIRST)
+    List<OrderSummaryView> findRestaurantOrderPage(@Param("restaurantId") Long restaurantId, Pageable pageable);
+
+    @Query(SUMMARY_SELECT + "WHERE o.restaurantId = :restaurantId " + AFTER_CURSOR + NEWEST_FIRST)
+    List<OrderSummaryView> findRestaurantOrderPageAfter(@Param("restaurantId") Long restaurantId,
+                                                        @Param("createdAt") LocalDateTime createdAt,
+                                                        @Param("id") Long id,
+                                                        Pageable pageable);
+
+    @Query(SUMMARY_SELECT + "WHERE o.restaurantId = :restaurantId AND o.orderStatus IN :statuses " + NEWEST_FIRST)
+    List<OrderSummaryView> findRestaurantOrdersInStatus(@Param("restaurantId") Long restaurantId,
+                                                        @Param("statuses") Collection<OrderStatus> statuses,
+                                                        Pageable pageable);
+
+    @Query(SUMMARY_SELECT + "WHERE o.id > :afterId ORDER BY o.id")
+    List<OrderSummaryView> findSummariesAfterId(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query(SUMMARY_SELECT + "WHERE o.id = :id")
+    Optional<OrderSummaryView> findSummaryById(@Param("id") Long id);
+
+    /**
+     * Move an order to target only if its current status is one of allowed (and, if given, its version matches).
+     * Returns the number of rows updated: 0 means the transition was not allowed or lost a race.
+     */
+    @Modifying
+    @Query("UPDATE Order o SET o.orderStatus = :target, o.version = o.version + 1, o.updatedAt = :now " +
+            "WHERE o.id = :id AND o.orderStatus IN :allowed " +
+            "AND (:expectedVersion IS NULL OR o.version = :expectedVersion)")
+    int transitionStatus(@Param("id") Long id,
+                         @Param("target") OrderStatus target,
+                         @Param("allowed") Collection<OrderStatus> allowed,
+                         @Param("expectedVersion") Long expectedVersion,
+                         @Param("now") LocalDateTime now);
+
 }
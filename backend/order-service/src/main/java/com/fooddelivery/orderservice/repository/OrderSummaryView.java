@@ -0,0 +1,33 @@
+package com.fooddelivery.orderservice.repository;
+
+import com.fooddelivery.orderservice.entity.OrderStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Order columns for list views; selecting these instead of the entity skips the eager item fetch per order.
+ */
+public interface OrderSummaryView {
+
+    Long getId();
+
+    String getUserId();
+
+    Long getRestaurantId();
+
+    OrderStatus getOrderStatus();
+
+    BigDecimal getTotalAmount();
+
+    String getDeliveryAddress();
+
+    String getSpecialInstructions();
+
+    LocalDateTime getCreatedAt();
+
+    LocalDateTime getUpdatedAt();
+
+    Long getVersion();
+
+}
@@ -1,6 +1,13 @@
 package com.fooddelivery.orderservice.service;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fooddelivery.orderservice.cache.MenuSnapshotCache;
+import com.fooddelivery.orderservice.event.OrderEvent;
+import com.fooddelivery.orderservice.readmodel.OrderReadModelProjector;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Service;
 
@@ -8,13 +15,81 @@ import org.springframework.stereotype.Service;
 @Slf4j
 public class KafkaConsumerService {
 
-    @KafkaListener(topics = "restaurant.events", groupId = "order-service-group")
+    @Autowired
+    private MenuSnapshotCache menuSnapshotCache;
+
+    @Autowired
+    private KitchenBoardService kitchenBoardService;
+
+    @Autowired
+    private OrderReadModelProjector orderReadModelProjector;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // Every instance keeps its own menu cache, so each one needs its own consumer group to see all invalidations
+    @KafkaListener(
+            topics = "restaurant.events",
+            groupId = "#{'order-service-menu-cache-' + T(java.util.UUID).randomUUID()}",
+            properties = {"auto.offset.reset=latest"}
+    )
     public void consumeRestaurantEvent(String message) {
         try {
-            log.info("Received restaurant event: {}", message);
+            log.debug("Received restaurant event: {}", message);
+            JsonNode event = objectMapper.readTree(message);
+            JsonNode restaurantId = event.path("restaurantId");
+            if (!restaurantId.canConvertToLong()) {
+                log.warn("Ignoring restaurant event without restaurantId: {}", message);
+                return;
+            }
+
+            JsonNode menuVersion = event.path("menuVersion");
+            if (menuVersion.canConvertToLong()) {
+                menuSnapshotCache.onMenuVersion(restaurantId.asLong(), menuVersion.asLong());
+            } else {
+                menuSnapshotCache.evict(restaurantId.asLong());
+            }
         } catch (Exception e) {
             log.error("Error processing restaurant event: {}", message, e);
         }
     }
 
+    // Kitchen boards are connected to a single instance, so each one needs its own consumer group to see every change
+    @KafkaListener(
+            topics = "order.events",
+            groupId = "#{'order-service-kitchen-board-' + T(java.util.UUID).randomUUID()}",
+            properties = {"auto.offset.reset=latest"}
+    )
+    public void consumeOrderEvent(String message) {
+        try {
+            log.debug("Received order event: {}", message);
+            OrderEvent event = objectMapper.readValue(message, OrderEvent.class);
+            if (event.getRestaurantId() == null || event.getOrderId() == null) {
+                log.warn("Ignoring order event without restaurantId or orderId: {}", message);
+                return;
+            }
+            kitchenBoardService.onOrderEvent(event);
+        } catch (Exception e) {
+            log.error("Error processing order event: {}", message, e);
+        }
+    }
+
+    // The read model is shared in Redis, so one consumer group across instances applies each event once.
+    // A new group starts from the latest offset: everything before it is covered by the startup rebuild.
+    // Failures are not swallowed here: the container retries them and then parks the event on a dead-letter topic.
+    @KafkaListener(
+            topics = "order.events",
+            groupId = "order-service-read-model",
+            containerFactory = "readModelListenerContainerFactory",
+            properties = {"auto.offset.reset=latest"}
+    )
+    public void projectOrderEvent(String message) throws JsonProcessingException {
+        OrderEvent event = objectMapper.readValue(message, OrderEvent.class);
+        if (event.getOrderId() == null) {
+            log.warn("Ignoring order event without orderId: {}", message);
+            return;
+        }
+        orderReadModelProjector.apply(event);
+    }
+
 }
@@ -0,0 +1,257 @@
+package com.fooddelivery.orderservice.service;
+
+import com.fooddelivery.orderservice.dto.KitchenBoardUpdate;
+import com.fooddelivery.orderservice.dto.OrderResponse;
+import com.fooddelivery.orderservice.entity.OrderStatus;
+import com.fooddelivery.orderservice.event.OrderEvent;
+import com.fooddelivery.orderservice.exception.OrderNotFoundException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Live kitchen boards: a subscriber first receives a snapshot of the restaurant's open orders, then deltas
+ * derived from order.events.
+ *
+ * Each subscriber has a bounded buffer drained by a task on a small sender pool, so a slow client never blocks
+ * the Kafka listener or other boards. A client that falls a full buffer behind is disconnected and resynchronises
+ * from a fresh snapshot when it reconnects.
+ */
+@Service
+@Slf4j
+public class KitchenBoardService {
+
+    // Statuses the kitchen still has to act on; orders leaving this set are removed from the board
+    public static final Set<OrderStatus> BOARD_STATUSES = Collections.unmodifiableSet(EnumSet.of(
+            OrderStatus.PENDING, OrderStatus.CONFIRMED, OrderStatus.PREPARING, OrderStatus.READY_FOR_PICKUP));
+
+    private static final String ORDER_CREATED_EVENT = "ORDER_CREATED";
+    private static final String SNAPSHOT = "snapshot";
+    private static final String ORDER_ADDED = "order-added";
+    private static final String ORDER_UPDATED = "order-updated";
+    private static final String ORDER_REMOVED = "order-removed";
+
+    @Autowired
+    private OrderService orderService;
+
+    @Value("${kitchen-board.snapshot-limit:200}")
+    private int snapshotLimit;
+
+    @Value("${kitchen-board.buffer-size:256}")
+    private int bufferSize;
+
+    @Value("${kitchen-board.sender-threads:4}")
+    private int senderThreads;
+
+    @Value("${kitchen-board.emitter-timeout-ms:1800000}")
+    private long emitterTimeoutMs;
+
+    // restaurantId -> boards open for it on this instance
+    private final Map<Long, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+
+    private ExecutorService senders;
+
+    @PostConstruct
+    public void start() {
+        senders = Executors.newFixedThreadPool(senderThreads);
+    }
+
+    @PreDestroy
+    public void stop() {
+        senders.shutdownNow();
+    }
+
+    /**
+     * Open a board stream for the restaurant
+     */
+    public SseEmitter subscribe(Long restaurantId) {
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMs);
+        Subscriber subscriber = new Subscriber(restaurantId, emitter);
+        emitter.onCompletion(() -> unregister(subscriber));
+        emitter.onError(ex -> unregister(subscriber));
+        emitter.onTimeout(() -> subscriber.close(true));
+
+        // Registered before the snapshot is read so no change in between is lost; a delta that is already
+        // reflected in the snapshot carries a version the board has seen and is ignored by the client
+        subscribers.compute(restaurantId, (id, boards) -> {
+            Set<Subscriber> registered = boards != null ? boards : ConcurrentHashMap.newKeySet();
+            registered.add(subscriber);
+            return registered;
+        });
+
+        try {
+            List<OrderResponse> snapshot = orderService.getRestaurantOrdersInStatus(restaurantId, BOARD_STATUSES, snapshotLimit);
+            emitter.send(SseEmitter.event().name(SNAPSHOT).data(snapshot).build());
+        } catch (Exception e) {
+            log.error("Failed to send kitchen board snapshot for restaurant {}", restaurantId, e);
+            unregister(subscriber);
+            emitter.completeWithError(e);
+            return emitter;
+        }
+
+        subscriber.start();
+        log.debug("Kitchen board opened for restaurant {}", restaurantId);
+        return emitter;
+    }
+
+    /**
+     * Turn an order event into a delta for the boards of its restaurant
+     */
+    public void onOrderEvent(OrderEvent event) {
+        Set<Subscriber> boards = subscribers.get(event.getRestaurantId());
+        if (boards == null || boards.isEmpty()) {
+            return;
+        }
+
+        Set<DataWithMediaType> delta;
+        if (ORDER_CREATED_EVENT.equals(event.getEventType())) {
+            // The event carries no line items; load the order once for every board watching the restaurant
+            try {
+                OrderResponse order = orderService.loadOrder(event.getOrderId());
+                delta = SseEmitter.event().name(ORDER_ADDED).data(order).build();
+            } catch (OrderNotFoundException e) {
+                log.warn("Order {} from event no longer exists", event.getOrderId());
+                return;
+            }
+        } else {
+            KitchenBoardUpdate update = KitchenBoardUpdate.builder()
+                    .orderId(event.getOrderId())
+                    .orderStatus(event.getOrderStatus())
+                    .version(event.getVersion())
+                    .timestamp(event.getTimestamp())
+                    .build();
+            String name = BOARD_STATUSES.contains(event.getOrderStatus()) ? ORDER_UPDATED : ORDER_REMOVED;
+            delta = SseEmitter.event().name(name).data(update).build();
+        }
+
+        for (Subscriber subscriber : boards) {
+            subscriber.offer(delta);
+        }
+    }
+
+    /**
+     * Keeps idle streams open through proxies and detects clients that went away
+     */
+    @Scheduled(fixedRateString = "${kitchen-board.heartbeat-interval-ms:15000}")
+    public void heartbeat() {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        Set<DataWithMediaType> heartbeat = SseEmitter.event().comment("heartbeat").build();
+        subscribers.values().forEach(boards -> boards.forEach(subscriber -> subscriber.offer(heartbeat)));
+    }
+
+    private void unregister(Subscriber subscriber) {
+        subscriber.closed.set(true);
+        remove(subscriber);
+    }
+
+    private void remove(Subscriber subscriber) {
+        subscribers.computeIfPresent(subscriber.restaurantId, (id, boards) -> {
+            boards.remove(subscriber);
+            return boards.isEmpty() ? null : boards;
+        });
+    }
+
+    private final class Subscriber {
+
+        private final Long restaurantId;
+
+        private final SseEmitter emitter;
+
+        private final BlockingQueue<Set<DataWithMediaType>> buffer;
+
+        // At most one drain task per subscriber, so its events are sent in order
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        // Deltas are only buffered until the snapshot has gone out
+        private volatile boolean started;
+
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        private Subscriber(Long restaurantId, SseEmitter emitter) {
+            this.restaurantId = restaurantId;
+            this.emitter = emitter;
+            this.buffer = new ArrayBlockingQueue<>(bufferSize);
+        }
+
+        private void start() {
+            started = true;
+            scheduleDrain();
+        }
+
+        private void offer(Set<DataWithMediaType> event) {
+            if (closed.get()) {
+                return;
+            }
+            if (!buffer.offer(event)) {
+                log.warn("Kitchen board for restaurant {} fell {} events behind, disconnecting it",
+                        restaurantId, bufferSize);
+                close(true);
+                return;
+            }
+            scheduleDrain();
+        }
+
+        private void scheduleDrain() {
+            if (!started || closed.get() || !draining.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                senders.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                draining.set(false);
+                close(true);
+            }
+        }
+
+        private void drain() {
+            try {
+                Set<DataWithMediaType> next;
+                while (!closed.get() && (next = buffer.poll()) != null) {
+                    emitter.send(next);
+                }
+            } catch (Exception e) {
+                // The container reports the broken connection through onError; only stop using it here
+                log.debug("Kitchen board for restaurant {} disconnected: {}", restaurantId, e.getMessage());
+                close(false);
+            } finally {
+                draining.set(false);
+            }
+            // An event offered after the last poll but before draining was reset would otherwise wait for the next one
+            if (!buffer.isEmpty()) {
+                scheduleDrain();
+            }
+        }
+
+        private void close(boolean complete) {
+            if (!closed.compareAndSet(false, true)) {
+                return;
+            }
+            remove(this);
+            buffer.clear();
+            if (complete) {
+                emitter.complete();
+            }
+        }
+    }
+}
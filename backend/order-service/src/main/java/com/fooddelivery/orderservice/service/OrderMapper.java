@@ -4,6 +4,8 @@ import com.fooddelivery.orderservice.dto.OrderItemResponse;
 import com.fooddelivery.orderservice.dto.OrderResponse;
 import com.fooddelivery.orderservice.entity.Order;
 import com.fooddelivery.orderservice.entity.OrderItem;
+import com.fooddelivery.orderservice.repository.OrderItemView;
+import com.fooddelivery.orderservice.repository.OrderSummaryView;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
@@ -31,6 +33,7 @@ public class OrderMapper {
                 .orderItems(itemResponses)
                 .createdAt(order.getCreatedAt())
                 .updatedAt(order.getUpdatedAt())
+                .version(order.getVersion())
                 .build();
     }
 
@@ -48,4 +51,30 @@ public class OrderMapper {
                 .build();
     }
 
+    public OrderResponse toOrderResponse(OrderSummaryView order, List<OrderItemResponse> itemResponses) {
+        return OrderResponse.builder()
+                .id(order.getId())
+                .userId(order.getUserId())
+                .restaurantId(order.getRestaurantId())
+                .orderStatus(order.getOrderStatus())
+                .totalAmount(order.getTotalAmount())
+                .deliveryAddress(order.getDeliveryAddress())
+                .specialInstructions(order.getSpecialInstructions())
+                .orderItems(itemResponses)
+                .createdAt(order.getCreatedAt())
+                .updatedAt(order.getUpdatedAt())
+                .version(order.getVersion())
+                .build();
+    }
+
+    public OrderItemResponse toOrderItemResponse(OrderItemView item) {
+        return OrderItemResponse.builder()
+                .id(item.getId())
+                .menuItemId(item.getMenuItemId())
+                .menuItemName(item.getMenuItemName())
+                .quantity(item.getQuantity())
+                .price(item.getPrice())
+                .build();
+    }
+
 }
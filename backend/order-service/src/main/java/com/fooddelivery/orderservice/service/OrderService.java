@@ -1,32 +1,53 @@
 package com.fooddelivery.orderservice.service;
 
-import com.fooddelivery.orderservice.client.DeliveryClient;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fooddelivery.orderservice.cache.MenuSnapshot;
+import com.fooddelivery.orderservice.cache.MenuSnapshotCache;
 import com.fooddelivery.orderservice.client.RestaurantClient;
 import com.fooddelivery.orderservice.client.dto.DeliveryAssignmentRequest;
 import com.fooddelivery.orderservice.client.dto.MenuItemResponse;
+import com.fooddelivery.orderservice.config.RabbitMQConfig;
 import com.fooddelivery.orderservice.dto.CreateOrderRequest;
 import com.fooddelivery.orderservice.dto.OrderItemRequest;
+import com.fooddelivery.orderservice.dto.OrderCursor;
 import com.fooddelivery.orderservice.dto.OrderItemResponse;
+import com.fooddelivery.orderservice.dto.OrderPage;
 import com.fooddelivery.orderservice.dto.OrderResponse;
 import com.fooddelivery.orderservice.dto.UpdateOrderStatusRequest;
 import com.fooddelivery.orderservice.entity.Order;
 import com.fooddelivery.orderservice.entity.OrderItem;
 import com.fooddelivery.orderservice.entity.OrderStatus;
+import com.fooddelivery.orderservice.entity.OutboxEvent;
 import com.fooddelivery.orderservice.event.OrderEvent;
+import com.fooddelivery.orderservice.exception.InvalidStatusTransitionException;
 import com.fooddelivery.orderservice.exception.OrderNotFoundException;
 import com.fooddelivery.orderservice.exception.RestaurantNotAvailableException;
+import com.fooddelivery.orderservice.readmodel.OrderReadModel;
+import com.fooddelivery.orderservice.repository.OrderItemRepository;
+import com.fooddelivery.orderservice.repository.OrderItemView;
 import com.fooddelivery.orderservice.repository.OrderRepository;
+import com.fooddelivery.orderservice.repository.OrderSummaryView;
+import com.fooddelivery.orderservice.repository.OutboxEventRepository;
 import feign.FeignException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.web.client.RestTemplate;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
 
 @Service
 @Slf4j
@@ -40,13 +61,13 @@ public class OrderService {
     private RestaurantClient restaurantClient;
 
     @Autowired
-    private DeliveryClient deliveryClient;
+    private MenuSnapshotCache menuSnapshotCache;
 
     @Autowired
-    private KafkaTemplate<String, OrderEvent> kafkaTemplate;
+    private OutboxEventRepository outboxEventRepository;
 
     @Autowired
-    private RabbitMQService rabbitMQService;
+    private ObjectMapper objectMapper;
 
     @Autowired
     private RestTemplate restTemplate;
@@ -54,52 +75,61 @@ public class OrderService {
     @Autowired
     private OrderMapper orderMapper;
 
+    @Autowired
+    private OrderItemRepository orderItemRepository;
+
+    @Autowired
+    private OrderReadModel orderReadModel;
+
     private static final String ORDER_EVENTS_TOPIC = "order.events";
     private static final String ORDER_CREATED_EVENT = "ORDER_CREATED";
     private static final String ORDER_STATUS_CHANGED_EVENT = "ORDER_STATUS_CHANGED";
+    private static final String DELIVERY_ASSIGNMENT_EVENT = "DELIVERY_ASSIGNMENT_REQUESTED";
+    private static final int MAX_PAGE_SIZE = 100;
 
     @Transactional
     public OrderResponse createOrder(CreateOrderRequest request) {
         log.info("Creating order for user {} from restaurant {}", request.getUserId(), request.getRestaurantId());
 
-        try {
-            restaurantClient.getRestaurant(request.getRestaurantId());
-        } catch (FeignException.NotFound e) {
-            log.error("Restaurant not found with id: {}", request.getRestaurantId());
-            throw new RestaurantNotAvailableException("Restaurant not found with id: " + request.getRestaurantId());
+        List<Long> menuItemIds = request.getItems().stream()
+                .map(OrderItemRequest::getMenuItemId)
+                .distinct()
+                .toList();
+
+        MenuSnapshot menu = resolveMenu(request.getRestaurantId(), menuItemIds);
+
+        if (!menu.isRestaurantActive()) {
+            log.warn("Restaurant {} is not accepting orders", request.getRestaurantId());
+            throw new RestaurantNotAvailableException("Restaurant " + request.getRestaurantId() + " is not accepting orders");
         }
 
         BigDecimal totalAmount = BigDecimal.ZERO;
         List<OrderItem> orderItems = new java.util.ArrayList<>();
 
         for (OrderItemRequest itemRequest : request.getItems()) {
-            try {
-                MenuItemResponse menuItem = restaurantClient.getMenuItem(
-                        request.getRestaurantId(),
-                        itemRequest.getMenuItemId()
-                );
-
-                if (menuItem == null || !menuItem.getAvailable()) {
-                    log.warn("Menu item {} is not available", itemRequest.getMenuItemId());
-                    throw new RestaurantNotAvailableException("Menu item " + itemRequest.getMenuItemId() + " is not available");
-                }
-
-                BigDecimal itemTotal = menuItem.getPrice().multiply(new BigDecimal(itemRequest.getQuantity()));
-                totalAmount = totalAmount.add(itemTotal);
-
-                OrderItem orderItem = OrderItem.builder()
-                        .menuItemId(menuItem.getId())
-                        .menuItemName(menuItem.getName())
-                        .quantity(itemRequest.getQuantity())
-                        .price(menuItem.getPrice())
-                        .build();
+            MenuItemResponse menuItem = menu.getItem(itemRequest.getMenuItemId());
 
-                orderItems.add(orderItem);
-
-            } catch (FeignException.NotFound e) {
+            if (menuItem == null) {
                 log.error("Menu item {} not found in restaurant {}", itemRequest.getMenuItemId(), request.getRestaurantId());
                 throw new RestaurantNotAvailableException("Menu item not found: " + itemRequest.getMenuItemId());
             }
+
+            if (!Boolean.TRUE.equals(menuItem.getAvailable())) {
+                log.warn("Menu item {} is not available", itemRequest.getMenuItemId());
+                throw new RestaurantNotAvailableException("Menu item " + itemRequest.getMenuItemId() + " is not available");
+            }
+
+            BigDecimal itemTotal = menuItem.getPrice().multiply(new BigDecimal(itemRequest.getQuantity()));
+            totalAmount = totalAmount.add(itemTotal);
+
+            OrderItem orderItem = OrderItem.builder()
+                    .menuItemId(menuItem.getId())
+                    .menuItemName(menuItem.getName())
+                    .quantity(itemRequest.getQuantity())
+                    .price(menuItem.getPrice())
+                    .build();
+
+            orderItems.add(orderItem);
         }
 
         Order order = Order.builder()
@@ -112,123 +142,282 @@ public class OrderService {
                 .orderItems(orderItems)
                 .build();
 
-        order = orderRepository.save(order);
         for (OrderItem item : orderItems) {
             item.setOrder(order);
         }
-        orderRepository.save(order);
+        // Ids are pre-allocated, so the order and its items are inserted together at flush in one batch
+        order = orderRepository.save(order);
 
         publishOrderEvent(order, ORDER_CREATED_EVENT);
         log.info("Order created successfully with id: {}", order.getId());
 
-        return orderMapper.toOrderResponse(order);
+        OrderResponse response = orderMapper.toOrderResponse(order);
+        // So the customer sees the order right away; the order.events projection would add it shortly after
+        afterCommit(() -> orderReadModel.saveAll(List.of(response)));
+        return response;
     }
 
-    @Transactional(readOnly = true)
+    // Served from the read model without opening a database transaction; the fallback queries run their own
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public OrderResponse getOrder(Long orderId) {
         log.info("Fetching order with id: {}", orderId);
-        Order order = orderRepository.findById(orderId)
+        return orderReadModel.findOrder(orderId).orElseGet(() -> loadOrder(orderId));
+    }
+
+    /**
+     * The order as stored in the database, bypassing the read model
+     */
+    @Transactional(readOnly = true)
+    public OrderResponse loadOrder(Long orderId) {
+        OrderSummaryView order = orderRepository.findSummaryById(orderId)
                 .orElseThrow(() -> new OrderNotFoundException("Order not found with id: " + orderId));
-        return orderMapper.toOrderResponse(order);
+        return toOrderResponses(List.of(order)).get(0);
     }
 
+    /**
+     * Orders with an id above afterId in id order, for rebuilding the read model
+     */
     @Transactional(readOnly = true)
-    public List<OrderResponse> getUserOrders(String userId) {
+    public List<OrderResponse> getOrdersAfterId(Long afterId, int limit) {
+        return toOrderResponses(orderRepository.findSummariesAfterId(afterId, PageRequest.of(0, limit)));
+    }
+
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public OrderPage getUserOrders(String userId, String cursor, int limit) {
         log.info("Fetching orders for user: {}", userId);
-        List<Order> orders = orderRepository.findByUserIdOrderByCreatedAtDesc(userId);
-        return orders.stream().map(orderMapper::toOrderResponse).toList();
+        OrderCursor after = OrderCursor.decode(cursor);
+        Optional<OrderPage> fromReadModel = orderReadModel.findUserOrders(userId, after, pageSize(limit));
+        if (fromReadModel.isPresent()) {
+            return fromReadModel.get();
+        }
+
+        Pageable page = PageRequest.of(0, pageSize(limit) + 1);
+        List<OrderSummaryView> orders = after == null
+                ? orderRepository.findUserOrderPage(userId, page)
+                : orderRepository.findUserOrderPageAfter(userId, after.getCreatedAt(), after.getId(), page);
+        return toOrderPage(orders, pageSize(limit));
     }
 
     @Transactional(readOnly = true)
-    public List<OrderResponse> getRestaurantOrders(Long restaurantId) {
+    public OrderPage getRestaurantOrders(Long restaurantId, String cursor, int limit) {
         log.info("Fetching orders for restaurant: {}", restaurantId);
-        List<Order> orders = orderRepository.findByRestaurantId(restaurantId);
-        return orders.stream().map(orderMapper::toOrderResponse).toList();
+        OrderCursor after = OrderCursor.decode(cursor);
+        Pageable page = PageRequest.of(0, pageSize(limit) + 1);
+        List<OrderSummaryView> orders = after == null
+                ? orderRepository.findRestaurantOrderPage(restaurantId, page)
+                : orderRepository.findRestaurantOrderPageAfter(restaurantId, after.getCreatedAt(), after.getId(), page);
+        return toOrderPage(orders, pageSize(limit));
+    }
+
+    /**
+     * The restaurant's orders currently in one of statuses, newest first, capped at limit
+     */
+    @Transactional(readOnly = true)
+    public List<OrderResponse> getRestaurantOrdersInStatus(Long restaurantId, Collection<OrderStatus> statuses, int limit) {
+        return toOrderResponses(orderRepository.findRestaurantOrdersInStatus(restaurantId, statuses,
+                PageRequest.of(0, limit)));
+    }
+
+    /**
+     * Build a page from up to size + 1 order rows (the extra row only signals that another page exists),
+     * loading the items of all orders on the page in a single query
+     */
+    private OrderPage toOrderPage(List<OrderSummaryView> rows, int size) {
+        boolean hasMore = rows.size() > size;
+        List<OrderSummaryView> orders = hasMore ? rows.subList(0, size) : rows;
+        if (orders.isEmpty()) {
+            return OrderPage.builder().orders(List.of()).build();
+        }
+
+        OrderSummaryView last = orders.get(orders.size() - 1);
+        return OrderPage.builder()
+                .orders(toOrderResponses(orders))
+                .nextCursor(hasMore ? new OrderCursor(last.getCreatedAt(), last.getId()).encode() : null)
+                .build();
+    }
+
+    /**
+     * Map order rows to responses, loading the items of all of them in a single query
+     */
+    private List<OrderResponse> toOrderResponses(List<OrderSummaryView> orders) {
+        if (orders.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, List<OrderItemResponse>> itemsByOrder = orderItemRepository
+                .findViewsByOrderIdIn(orders.stream().map(OrderSummaryView::getId).toList())
+                .stream()
+                .collect(Collectors.groupingBy(OrderItemView::getOrderId,
+                        Collectors.mapping(orderMapper::toOrderItemResponse, Collectors.toList())));
+
+        return orders.stream()
+                .map(order -> orderMapper.toOrderResponse(order, itemsByOrder.getOrDefault(order.getId(), List.of())))
+                .toList();
+    }
+
+    private int pageSize(int limit) {
+        return Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
     }
 
     @Transactional
     public OrderResponse updateOrderStatus(Long orderId, UpdateOrderStatusRequest request) {
         log.info("Updating order {} status to {}", orderId, request.getOrderStatus());
 
-        Order order = orderRepository.findById(orderId)
-                .orElseThrow(() -> new OrderNotFoundException("Order not found with id: " + orderId));
-
-        OrderStatus oldStatus = order.getOrderStatus();
-        order.setOrderStatus(request.getOrderStatus());
-        order = orderRepository.save(order);
-
+        OrderSummaryView order = transition(orderId, request.getOrderStatus(), request.getExpectedVersion());
         publishOrderEvent(order, ORDER_STATUS_CHANGED_EVENT);
 
+        // Queued in the outbox with the transition, so the request is neither lost nor sent for a rolled-back change
         if (request.getOrderStatus() == OrderStatus.READY_FOR_PICKUP) {
-            log.info("Order {} is ready for pickup, assigning delivery driver", orderId);
+            log.info("Order {} is ready for pickup, requesting delivery assignment", orderId);
             assignDelivery(order);
         }
 
+        // Outside side effects only once the transition is committed
         if (request.getOrderStatus() == OrderStatus.DELIVERED) {
-            log.info("Order {} has been delivered, calling FaaS for completion tasks", orderId);
-            callFaaSOrderCompletion(order);
+            afterCommit(() -> {
+                log.info("Order {} has been delivered, calling FaaS for completion tasks", orderId);
+                callFaaSOrderCompletion(order);
+            });
         }
 
-        log.info("Order {} status updated from {} to {}", orderId, oldStatus, request.getOrderStatus());
-        return orderMapper.toOrderResponse(order);
+        log.info("Order {} status updated to {}", orderId, request.getOrderStatus());
+        List<OrderItemResponse> items = orderItemRepository.findViewsByOrderIdIn(List.of(orderId)).stream()
+                .map(orderMapper::toOrderItemResponse)
+                .toList();
+        return orderMapper.toOrderResponse(order, items);
     }
 
     @Transactional
     public void cancelOrder(Long orderId) {
         log.info("Cancelling order: {}", orderId);
 
-        Order order = orderRepository.findById(orderId)
-                .orElseThrow(() -> new OrderNotFoundException("Order not found with id: " + orderId));
-
-        order.setOrderStatus(OrderStatus.CANCELLED);
-        orderRepository.save(order);
-
+        OrderSummaryView order = transition(orderId, OrderStatus.CANCELLED, null);
         publishOrderEvent(order, ORDER_STATUS_CHANGED_EVENT);
         log.info("Order {} has been cancelled", orderId);
     }
 
-    private void publishOrderEvent(Order order, String eventType) {
-        try {
-            OrderEvent event = OrderEvent.builder()
-                    .orderId(order.getId())
-                    .userId(order.getUserId())
-                    .restaurantId(order.getRestaurantId())
-                    .orderStatus(order.getOrderStatus())
-                    .totalAmount(order.getTotalAmount())
-                    .eventType(eventType)
-                    .timestamp(LocalDateTime.now())
-                    .build();
+    /**
+     * Apply a status transition as one conditional UPDATE (no read-modify-write of the entity)
+     * and return the order as it is after the update
+     */
+    private OrderSummaryView transition(Long orderId, OrderStatus target, Long expectedVersion) {
+        // Nothing moves into the initial state
+        if (target.allowedPredecessors().isEmpty()) {
+            throw new InvalidStatusTransitionException("Order " + orderId + " cannot move to " + target);
+        }
 
-            kafkaTemplate.send(ORDER_EVENTS_TOPIC, event.getOrderId().toString(), event);
-            log.debug("Published {} event for order {}", eventType, order.getId());
-        } catch (Exception e) {
-            log.error("Failed to publish event for order {}", order.getId(), e);
+        int updated = orderRepository.transitionStatus(orderId, target, target.allowedPredecessors(),
+                expectedVersion, LocalDateTime.now());
+
+        if (updated == 0) {
+            // Only on the failure path: find out why, for the error message
+            OrderSummaryView current = orderRepository.findSummaryById(orderId)
+                    .orElseThrow(() -> new OrderNotFoundException("Order not found with id: " + orderId));
+            if (!current.getOrderStatus().canTransitionTo(target)) {
+                throw new InvalidStatusTransitionException("Order " + orderId + " cannot move from "
+                        + current.getOrderStatus() + " to " + target);
+            }
+            throw new InvalidStatusTransitionException("Order " + orderId + " was modified concurrently (version "
+                    + current.getVersion() + ", expected " + expectedVersion + ")");
         }
+
+        OrderSummaryView order = orderRepository.findSummaryById(orderId)
+                .orElseThrow(() -> new OrderNotFoundException("Order not found with id: " + orderId));
+        afterCommit(() -> orderReadModel.applyStatusChange(orderId, order.getOrderStatus(), order.getVersion(),
+                order.getUpdatedAt()));
+        return order;
+    }
+
+    private void afterCommit(Runnable action) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                // The change is committed either way; a failure here must not turn the response into an error
+                try {
+                    action.run();
+                } catch (Exception e) {
+                    log.error("Post-commit action failed", e);
+                }
+            }
+        });
     }
 
-    private void assignDelivery(Order order) {
+    private MenuSnapshot resolveMenu(Long restaurantId, List<Long> menuItemIds) {
+        MenuSnapshot cached = menuSnapshotCache.get(restaurantId);
+        if (cached != null && cached.containsAll(menuItemIds)) {
+            return cached;
+        }
+
         try {
-            DeliveryAssignmentRequest deliveryRequest = DeliveryAssignmentRequest.builder()
-                    .orderId(order.getId())
-                    .restaurantId(order.getRestaurantId())
-                    .deliveryAddress(order.getDeliveryAddress())
-                    .build();
+            MenuSnapshot snapshot = MenuSnapshot.from(restaurantClient.getMenuSnapshot(restaurantId));
+            menuSnapshotCache.put(snapshot);
+            return snapshot;
+        } catch (FeignException.NotFound e) {
+            log.error("Restaurant not found with id: {}", restaurantId);
+            throw new RestaurantNotAvailableException("Restaurant not found with id: " + restaurantId);
+        }
+    }
+
+    private void publishOrderEvent(Order order, String eventType) {
+        queueEvent(OrderEvent.builder()
+                .orderId(order.getId())
+                .userId(order.getUserId())
+                .restaurantId(order.getRestaurantId())
+                .orderStatus(order.getOrderStatus())
+                .totalAmount(order.getTotalAmount())
+                .version(order.getVersion())
+                .eventType(eventType)
+                .timestamp(LocalDateTime.now())
+                .build());
+    }
 
-            deliveryClient.assignDelivery(deliveryRequest);
+    private void publishOrderEvent(OrderSummaryView order, String eventType) {
+        queueEvent(OrderEvent.builder()
+                .orderId(order.getId())
+                .userId(order.getUserId())
+                .restaurantId(order.getRestaurantId())
+                .orderStatus(order.getOrderStatus())
+                .totalAmount(order.getTotalAmount())
+                .version(order.getVersion())
+                .eventType(eventType)
+                .timestamp(LocalDateTime.now())
+                .build());
+    }
 
-            rabbitMQService.sendDeliveryAssignment(deliveryRequest);
-            log.info("Delivery assigned for order {}", order.getId());
-        } catch (Exception e) {
-            log.error("Failed to assign delivery for order {}", order.getId(), e);
-            rabbitMQService.sendDeliveryAssignment(DeliveryAssignmentRequest.builder()
-                    .orderId(order.getId())
-                    .restaurantId(order.getRestaurantId())
-                    .deliveryAddress(order.getDeliveryAddress())
+    private void queueEvent(OrderEvent event) {
+        try {
+            outboxEventRepository.save(OutboxEvent.builder()
+                    .topic(ORDER_EVENTS_TOPIC)
+                    .messageKey(event.getOrderId().toString())
+                    .eventType(event.getEventType())
+                    .payload(objectMapper.writeValueAsString(event))
+                    .build());
+            log.debug("Queued {} event for order {}", event.getEventType(), event.getOrderId());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize event for order " + event.getOrderId(), e);
+        }
+    }
+
+    private void assignDelivery(OrderSummaryView order) {
+        DeliveryAssignmentRequest request = DeliveryAssignmentRequest.builder()
+                .orderId(order.getId())
+                .restaurantId(order.getRestaurantId())
+                .deliveryAddress(order.getDeliveryAddress())
+                .build();
+        try {
+            outboxEventRepository.save(OutboxEvent.builder()
+                    .topic(RabbitMQConfig.ORDER_EXCHANGE)
+                    .routingKey(RabbitMQConfig.ORDER_DELIVERY_ROUTING_KEY)
+                    .messageKey(order.getId().toString())
+                    .eventType(DELIVERY_ASSIGNMENT_EVENT)
+                    .payload(objectMapper.writeValueAsString(request))
                     .build());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize delivery assignment for order " + order.getId(), e);
         }
     }
 
-    private void callFaaSOrderCompletion(Order order) {
+    private void callFaaSOrderCompletion(OrderSummaryView order) {
         try {
             String faasUrl = "http://faas-function-service/api/v1/order-completion";
             String payload = "{ \"orderId\": \"" + order.getId() + "\", \"userId\": \"" + order.getUserId() + "\"}";
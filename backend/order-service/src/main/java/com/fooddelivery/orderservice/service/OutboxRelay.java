@@ -0,0 +1,160 @@
+package com.fooddelivery.orderservice.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fooddelivery.orderservice.client.dto.DeliveryAssignmentRequest;
+import com.fooddelivery.orderservice.entity.OutboxEvent;
+import com.fooddelivery.orderservice.event.OrderEvent;
+import com.fooddelivery.orderservice.repository.OutboxEventRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publishes outbox rows in id order.
+ *
+ * Only one instance relays at a time: a MySQL named lock, held on its own connection until the batch has
+ * committed, so events for the same order cannot be published out of order by two instances working on
+ * different batches. SKIP LOCKED then only passes over rows whose inserting transaction has not committed yet.
+ */
+@Service
+@Slf4j
+public class OutboxRelay {
+
+    private static final String RELAY_LOCK = "order-service.outbox-relay";
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private KafkaTemplate<String, OrderEvent> kafkaTemplate;
+
+    @Autowired
+    private RabbitTemplate rabbitTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${outbox.relay.batch-size:500}")
+    private int batchSize;
+
+    @Value("${outbox.relay.send-timeout-ms:10000}")
+    private long sendTimeoutMs;
+
+    @Scheduled(fixedDelayString = "${outbox.relay.poll-interval-ms:100}")
+    public void relay() {
+        try (Connection connection = dataSource.getConnection()) {
+            if (!namedLock(connection, "SELECT GET_LOCK(?, 0)")) {
+                return;
+            }
+            try {
+                transactionTemplate.executeWithoutResult(status -> relayBatch());
+            } finally {
+                namedLock(connection, "SELECT RELEASE_LOCK(?)");
+            }
+        } catch (SQLException e) {
+            log.warn("Outbox relay lock unavailable, skipping this run: {}", e.getMessage());
+        }
+    }
+
+    private boolean namedLock(Connection connection, String sql) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setString(1, RELAY_LOCK);
+            try (ResultSet result = statement.executeQuery()) {
+                return result.next() && result.getInt(1) == 1;
+            }
+        }
+    }
+
+    private void relayBatch() {
+        List<OutboxEvent> batch = outboxEventRepository.lockNextBatch(batchSize);
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        List<CompletableFuture<?>> sends = new ArrayList<>(batch.size());
+        List<OutboxEvent> sent = new ArrayList<>(batch.size());
+        for (OutboxEvent outboxEvent : batch) {
+            try {
+                sends.add(send(outboxEvent));
+            } catch (JsonProcessingException e) {
+                // Retrying cannot fix the payload: set the row aside instead of blocking every event behind it
+                log.error("Outbox event {} has an unreadable payload, marking it failed", outboxEvent.getId(), e);
+                markFailed(outboxEvent, e);
+                continue;
+            } catch (Exception e) {
+                log.error("Failed to hand outbox event {} to the producer", outboxEvent.getId(), e);
+                break;
+            }
+            sent.add(outboxEvent);
+        }
+
+        // Only rows whose send was acknowledged are removed; the first failure stops the batch so
+        // later events for the same order are retried after it, preserving per-key order
+        // The sends are in flight together, so they share one deadline rather than a timeout each
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(sendTimeoutMs);
+        List<Long> published = new ArrayList<>(sends.size());
+        for (int i = 0; i < sends.size(); i++) {
+            try {
+                sends.get(i).get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                published.add(sent.get(i).getId());
+            } catch (Exception e) {
+                log.warn("Outbox event {} not acknowledged, will retry", sent.get(i).getId(), e);
+                break;
+            }
+        }
+
+        outboxEventRepository.deleteAllByIdInBatch(published);
+        log.debug("Relayed {} of {} outbox events", published.size(), batch.size());
+    }
+
+    private void markFailed(OutboxEvent outboxEvent, Exception cause) {
+        // The row is managed, so the change is flushed with the relay transaction
+        outboxEvent.setFailedAt(LocalDateTime.now());
+        String reason = String.valueOf(cause.getMessage());
+        outboxEvent.setFailureReason(reason.length() > 1000 ? reason.substring(0, 1000) : reason);
+    }
+
+    private CompletableFuture<?> send(OutboxEvent outboxEvent) throws JsonProcessingException {
+        if (outboxEvent.getRoutingKey() == null) {
+            OrderEvent event = objectMapper.readValue(outboxEvent.getPayload(), OrderEvent.class);
+            return kafkaTemplate.send(outboxEvent.getTopic(), outboxEvent.getMessageKey(), event);
+        }
+
+        // RabbitMQ carries only delivery assignments; the publisher confirm stands in for the Kafka ack
+        DeliveryAssignmentRequest request = objectMapper.readValue(outboxEvent.getPayload(), DeliveryAssignmentRequest.class);
+        CorrelationData correlation = new CorrelationData(outboxEvent.getId().toString());
+        rabbitTemplate.convertAndSend(outboxEvent.getTopic(), outboxEvent.getRoutingKey(), request, correlation);
+        return correlation.getFuture().thenAccept(confirm -> {
+            if (!confirm.isAck()) {
+                throw new AmqpException("Broker did not confirm outbox event " + outboxEvent.getId() + ": "
+                        + confirm.getReason());
+            }
+        });
+    }
+
+}
@@ -0,0 +1,45 @@
+-- Compare-and-set for order read model entries: the post-commit write, the order.events projector and a
+-- rebuild all read an entry, decide, then write, and must not overwrite a newer entry written in between.
+-- KEYS   one (order document, pending status change) pair per order
+-- ARGV   five values per pair:
+--          expected document version, expected pending status version ('none' = absent, '?' = no version)
+--          key to write (1 = document, 2 = pending status change), value, ttl in ms (0 = no expiry)
+-- Returns one entry per pair: 1 if written, 0 if either key changed since it was read
+
+local function version_of(value)
+    if not value then
+        return 'none'
+    end
+    local ok, decoded = pcall(cjson.decode, value)
+    if not ok or type(decoded) ~= 'table' or type(decoded.version) ~= 'number' then
+        return '?'
+    end
+    return string.format('%d', decoded.version)
+end
+
+local result = {}
+
+for i = 1, #KEYS / 2 do
+    local document_key = KEYS[2 * i - 1]
+    local pending_key = KEYS[2 * i]
+    local base = (i - 1) * 5
+
+    if version_of(redis.call('GET', document_key)) == ARGV[base + 1]
+            and version_of(redis.call('GET', pending_key)) == ARGV[base + 2] then
+        local target = pending_key
+        if ARGV[base + 3] == '1' then
+            target = document_key
+        end
+        local ttl = tonumber(ARGV[base + 5])
+        if ttl > 0 then
+            redis.call('SET', target, ARGV[base + 4], 'PX', ttl)
+        else
+            redis.call('SET', target, ARGV[base + 4])
+        end
+        result[i] = 1
+    else
+        result[i] = 0
+    end
+end
+
+return result
@@ -0,0 +1,55 @@
+package com.fooddelivery.orderservice.dto;
+
+import com.fooddelivery.orderservice.exception.InvalidCursorException;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class OrderCursorTest {
+
+    @Test
+    void roundTripsCreatedAtAndId() {
+        OrderCursor cursor = new OrderCursor(LocalDateTime.of(2024, 3, 15, 12, 30, 45, 123456789), 42L);
+
+        assertEquals(cursor, OrderCursor.decode(cursor.encode()));
+    }
+
+    @Test
+    void roundTripsTimestampWithoutSeconds() {
+        // LocalDateTime.toString omits zero seconds and nanos
+        OrderCursor cursor = new OrderCursor(LocalDateTime.of(2024, 1, 1, 10, 15), Long.MAX_VALUE);
+
+        assertEquals(cursor, OrderCursor.decode(cursor.encode()));
+    }
+
+    @Test
+    void encodedFormIsUrlSafe() {
+        String encoded = new OrderCursor(LocalDateTime.of(2024, 12, 31, 23, 59, 59, 999000000), 7L).encode();
+
+        assertEquals(encoded, encoded.replaceAll("[^A-Za-z0-9_-]", ""));
+    }
+
+    @Test
+    void missingCursorMeansFirstPage() {
+        assertNull(OrderCursor.decode(null));
+        assertNull(OrderCursor.decode(" "));
+    }
+
+    @Test
+    void rejectsMalformedCursors() {
+        assertThrows(InvalidCursorException.class, () -> OrderCursor.decode("not base64!"));
+        assertThrows(InvalidCursorException.class, () -> OrderCursor.decode(encode("no-separator")));
+        assertThrows(InvalidCursorException.class, () -> OrderCursor.decode(encode("2024-01-01T10:15|abc")));
+        assertThrows(InvalidCursorException.class, () -> OrderCursor.decode(encode("yesterday|1")));
+    }
+
+    private static String encode(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,137 @@
+package com.fooddelivery.orderservice.entity;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Orders persisted per second, each with its items in one transaction, with Hibernate's insert batching
+ * on (the service's setting) or off. Needs a real MySQL: the multi-row rewrite that makes batching pay off
+ * is done by the MySQL driver, so an in-memory database would not show it.
+ *
+ * Point it at a scratch schema (tables are created if missing, rows are never deleted):
+ *   mvn test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=java
+ *   "-Dexec.args=-Dbenchmark.jdbc-url=jdbc:mysql://localhost:3306/order_bench -cp %classpath
+ *   com.fooddelivery.orderservice.entity.OrderInsertBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(4)
+@Fork(1)
+public class OrderInsertBenchmark {
+
+    @Param({"1", "5", "20"})
+    private int itemsPerOrder;
+
+    // 1 turns JDBC batching off: one round trip per row
+    @Param({"1", "50"})
+    private int batchSize;
+
+    private EntityManagerFactory entityManagerFactory;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        String url = System.getProperty("benchmark.jdbc-url");
+        if (url == null) {
+            throw new IllegalStateException("Set -Dbenchmark.jdbc-url to a scratch MySQL schema");
+        }
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                url + (url.contains("?") ? "&" : "?") + "rewriteBatchedStatements=true",
+                System.getProperty("benchmark.jdbc-user", "root"),
+                System.getProperty("benchmark.jdbc-password", "root"));
+
+        LocalContainerEntityManagerFactoryBean factory = new LocalContainerEntityManagerFactoryBean();
+        factory.setDataSource(dataSource);
+        factory.setPackagesToScan(Order.class.getPackageName());
+        factory.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        factory.setJpaPropertyMap(Map.of(
+                "hibernate.hbm2ddl.auto", "update",
+                "hibernate.jdbc.batch_size", String.valueOf(batchSize),
+                "hibernate.order_inserts", "true",
+                "hibernate.order_updates", "true"));
+        factory.afterPropertiesSet();
+        entityManagerFactory = factory.getObject();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        entityManagerFactory.close();
+    }
+
+    @Benchmark
+    public Long insertOrder() {
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        try {
+            entityManager.getTransaction().begin();
+            Order order = order();
+            entityManager.persist(order);
+            entityManager.getTransaction().commit();
+            return order.getId();
+        } finally {
+            entityManager.close();
+        }
+    }
+
+    // Built the same way as in OrderService.createOrder: items linked before the single persist
+    private Order order() {
+        List<OrderItem> items = new ArrayList<>(itemsPerOrder);
+        BigDecimal total = BigDecimal.ZERO;
+        for (int i = 0; i < itemsPerOrder; i++) {
+            BigDecimal price = BigDecimal.valueOf(500 + i, 2);
+            items.add(OrderItem.builder()
+                    .menuItemId((long) i + 1)
+                    .menuItemName("Dish " + (i + 1))
+                    .quantity(1)
+                    .price(price)
+                    .build());
+            total = total.add(price);
+        }
+        Order order = Order.builder()
+                .userId("user@example.com")
+                .restaurantId(1L)
+                .orderStatus(OrderStatus.PENDING)
+                .totalAmount(total)
+                .deliveryAddress("1 Main Street")
+                .orderItems(items)
+                .build();
+        for (OrderItem item : items) {
+            item.setOrder(order);
+        }
+        return order;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(OrderInsertBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+
+}
@@ -0,0 +1,77 @@
+package com.fooddelivery.orderservice.entity;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OrderStatusTest {
+
+    @Test
+    void allowsTheForwardFlow() {
+        assertTrue(OrderStatus.PENDING.canTransitionTo(OrderStatus.CONFIRMED));
+        assertTrue(OrderStatus.CONFIRMED.canTransitionTo(OrderStatus.PREPARING));
+        assertTrue(OrderStatus.PREPARING.canTransitionTo(OrderStatus.READY_FOR_PICKUP));
+        assertTrue(OrderStatus.READY_FOR_PICKUP.canTransitionTo(OrderStatus.PICKED_UP));
+        assertTrue(OrderStatus.PICKED_UP.canTransitionTo(OrderStatus.DELIVERING));
+        assertTrue(OrderStatus.PICKED_UP.canTransitionTo(OrderStatus.DELIVERED));
+        assertTrue(OrderStatus.DELIVERING.canTransitionTo(OrderStatus.DELIVERED));
+    }
+
+    @Test
+    void allowsCancellationOnlyBeforePickupIsReady() {
+        assertTrue(OrderStatus.PENDING.canTransitionTo(OrderStatus.CANCELLED));
+        assertTrue(OrderStatus.CONFIRMED.canTransitionTo(OrderStatus.CANCELLED));
+        assertTrue(OrderStatus.PREPARING.canTransitionTo(OrderStatus.CANCELLED));
+        assertFalse(OrderStatus.READY_FOR_PICKUP.canTransitionTo(OrderStatus.CANCELLED));
+        assertFalse(OrderStatus.DELIVERING.canTransitionTo(OrderStatus.CANCELLED));
+    }
+
+    @Test
+    void rejectsSkippingAndGoingBack() {
+        assertFalse(OrderStatus.PENDING.canTransitionTo(OrderStatus.PREPARING));
+        assertFalse(OrderStatus.PREPARING.canTransitionTo(OrderStatus.CONFIRMED));
+        assertFalse(OrderStatus.CONFIRMED.canTransitionTo(OrderStatus.CONFIRMED));
+    }
+
+    @Test
+    void terminalStatusesHaveNoTransitions() {
+        for (OrderStatus target : OrderStatus.values()) {
+            assertFalse(OrderStatus.DELIVERED.canTransitionTo(target));
+            assertFalse(OrderStatus.CANCELLED.canTransitionTo(target));
+        }
+    }
+
+    @Test
+    void predecessorsAreTheInverseOfTransitions() {
+        for (OrderStatus target : OrderStatus.values()) {
+            Set<OrderStatus> expected = EnumSet.noneOf(OrderStatus.class);
+            for (OrderStatus from : OrderStatus.values()) {
+                if (from.canTransitionTo(target)) {
+                    expected.add(from);
+                }
+            }
+            assertEquals(expected, target.allowedPredecessors(), "predecessors of " + target);
+        }
+    }
+
+    @Test
+    void predecessorsOfKeyStatuses() {
+        assertTrue(OrderStatus.PENDING.allowedPredecessors().isEmpty());
+        assertEquals(EnumSet.of(OrderStatus.PENDING, OrderStatus.CONFIRMED, OrderStatus.PREPARING),
+                OrderStatus.CANCELLED.allowedPredecessors());
+        assertEquals(EnumSet.of(OrderStatus.PICKED_UP, OrderStatus.DELIVERING),
+                OrderStatus.DELIVERED.allowedPredecessors());
+    }
+
+    @Test
+    void predecessorsCannotBeModified() {
+        assertThrows(UnsupportedOperationException.class,
+                () -> OrderStatus.CONFIRMED.allowedPredecessors().add(OrderStatus.DELIVERED));
+    }
+}
@@ -0,0 +1,162 @@
+package com.fooddelivery.orderservice.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fooddelivery.orderservice.cache.MenuSnapshotCache;
+import com.fooddelivery.orderservice.client.RestaurantClient;
+import com.fooddelivery.orderservice.client.dto.MenuItemResponse;
+import com.fooddelivery.orderservice.client.dto.MenuPricingResponse;
+import com.fooddelivery.orderservice.dto.CreateOrderRequest;
+import com.fooddelivery.orderservice.dto.OrderItemRequest;
+import com.fooddelivery.orderservice.dto.OrderResponse;
+import com.fooddelivery.orderservice.entity.Order;
+import com.fooddelivery.orderservice.repository.OrderRepository;
+import com.fooddelivery.orderservice.repository.OutboxEventRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Order creation latency by cart size, with the restaurant menu served from the snapshot cache or fetched
+ * from restaurant-service. The menu call is stubbed with a fixed simulated round trip and the repositories
+ * do not touch a database, so this measures the pricing path rather than the inserts.
+ *
+ * Run with: mvn test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=java
+ *   "-Dexec.args=-cp %classpath com.fooddelivery.orderservice.service.OrderCreationBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderCreationBenchmark {
+
+    private static final long RESTAURANT_ID = 1L;
+    private static final int MENU_SIZE = 100;
+
+    @Param({"1", "5", "20", "50"})
+    private int cartSize;
+
+    @Param({"true", "false"})
+    private boolean menuCached;
+
+    // Simulated restaurant-service round trip
+    @Param({"1000"})
+    private long menuCallMicros;
+
+    private OrderService orderService;
+    private MenuSnapshotCache menuSnapshotCache;
+    private CreateOrderRequest request;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        MenuPricingResponse menu = menu();
+        AtomicLong ids = new AtomicLong();
+
+        menuSnapshotCache = new MenuSnapshotCache(1000, 300000);
+        orderService = new OrderService();
+        ReflectionTestUtils.setField(orderService, "restaurantClient", stub(RestaurantClient.class, args -> {
+            LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(menuCallMicros));
+            return menu;
+        }));
+        ReflectionTestUtils.setField(orderService, "orderRepository", stub(OrderRepository.class, args -> {
+            Order order = (Order) args[0];
+            order.setId(ids.incrementAndGet());
+            return order;
+        }));
+        ReflectionTestUtils.setField(orderService, "outboxEventRepository",
+                stub(OutboxEventRepository.class, args -> args[0]));
+        ReflectionTestUtils.setField(orderService, "menuSnapshotCache", menuSnapshotCache);
+        ReflectionTestUtils.setField(orderService, "objectMapper", new ObjectMapper().findAndRegisterModules());
+        ReflectionTestUtils.setField(orderService, "orderMapper", new OrderMapper());
+
+        List<OrderItemRequest> items = new ArrayList<>();
+        for (int i = 0; i < cartSize; i++) {
+            items.add(OrderItemRequest.builder()
+                    .menuItemId((long) (i * 7 % MENU_SIZE) + 1)
+                    .quantity(i % 3 + 1)
+                    .build());
+        }
+        request = CreateOrderRequest.builder()
+                .userId("user@example.com")
+                .restaurantId(RESTAURANT_ID)
+                .items(items)
+                .deliveryAddress("1 Main Street")
+                .build();
+    }
+
+    @Benchmark
+    public OrderResponse createOrder() {
+        if (!menuCached) {
+            menuSnapshotCache.evict(RESTAURANT_ID);
+        }
+        // createOrder registers post-commit work; it is discarded since nothing commits here
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            return orderService.createOrder(request);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private static MenuPricingResponse menu() {
+        List<MenuItemResponse> items = new ArrayList<>();
+        for (long id = 1; id <= MENU_SIZE; id++) {
+            items.add(MenuItemResponse.builder()
+                    .id(id)
+                    .name("Dish " + id)
+                    .price(BigDecimal.valueOf(500 + id, 2))
+                    .available(true)
+                    .build());
+        }
+        return MenuPricingResponse.builder()
+                .restaurantId(RESTAURANT_ID)
+                .restaurantActive(true)
+                .menuVersion(1L)
+                .items(items)
+                .missingItemIds(List.of())
+                .build();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T stub(Class<T> type, StubMethod method) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+                (proxy, invoked, args) -> invoked.getDeclaringClass() == Object.class
+                        ? invoked.invoke(method, args)
+                        : method.invoke(args));
+    }
+
+    @FunctionalInterface
+    private interface StubMethod {
+        Object invoke(Object[] args);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(OrderCreationBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+
+}
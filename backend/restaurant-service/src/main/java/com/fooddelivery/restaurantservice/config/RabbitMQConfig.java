@@ -0,0 +1,39 @@
+package com.fooddelivery.restaurantservice.config;
+
+import org.springframework.amqp.core.AnonymousQueue;
+import org.springframework.amqp.core.Binding;
+import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.FanoutExchange;
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class RabbitMQConfig {
+
+    // Published by user-service whenever a user's details change
+    public static final String USER_CHANGES_EXCHANGE = "user.changes";
+
+    @Bean
+    public FanoutExchange userChangesExchange() {
+        return new FanoutExchange(USER_CHANGES_EXCHANGE, true, false);
+    }
+
+    // Exclusive, auto-delete queue per instance: each instance's user-details cache sees every change
+    @Bean
+    public Queue userChangesQueue() {
+        return new AnonymousQueue();
+    }
+
+    @Bean
+    public Binding userChangesBinding() {
+        return BindingBuilder.bind(userChangesQueue()).to(userChangesExchange());
+    }
+
+    @Bean
+    public MessageConverter messageConverter() {
+        return new Jackson2JsonMessageConverter();
+    }
+}
@@ -2,6 +2,7 @@ package com.fooddelivery.restaurantservice.controller;
 
 import com.fooddelivery.restaurantservice.dto.MenuItemRequest;
 import com.fooddelivery.restaurantservice.dto.MenuItemResponse;
+import com.fooddelivery.restaurantservice.dto.MenuPricingResponse;
 import com.fooddelivery.restaurantservice.service.MenuItemService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -84,6 +85,23 @@ public class MenuItemController {
         }
     }
 
+    @GetMapping("/pricing")
+    public ResponseEntity<MenuPricingResponse> getMenuPricing(
+            @PathVariable Long restaurantId,
+            @RequestParam(value = "ids", required = false) List<Long> ids) {
+        log.info("Fetching pricing for menu items: {} for restaurant: {}", ids, restaurantId);
+        try {
+            MenuPricingResponse response = menuItemService.getMenuPricing(restaurantId, ids);
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException ex) {
+            log.error("Restaurant not found: {}", ex.getMessage());
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        } catch (Exception ex) {
+            log.error("Unexpected error while fetching menu pricing", ex);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
     @GetMapping("/category/{category}")
     public ResponseEntity<List<MenuItemResponse>> getMenuItemsByCategory(
             @PathVariable Long restaurantId,
@@ -0,0 +1,22 @@
+package com.fooddelivery.restaurantservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MenuPricingResponse implements Serializable {
+
+    private Long restaurantId;
+    private Boolean restaurantActive;
+    private Long menuVersion;
+    private List<MenuItemResponse> items;
+    private List<Long> missingItemIds;
+}
@@ -6,6 +6,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -19,4 +20,7 @@ public interface MenuItemRepository extends JpaRepository<MenuItem, Long> {
 
     @Query("SELECT m FROM MenuItem m WHERE m.restaurantId = :restaurantId AND m.available = true")
     List<MenuItem> findAvailableItemsByRestaurant(@Param("restaurantId") Long restaurantId);
+
+    @Query("SELECT m FROM MenuItem m WHERE m.restaurantId = :restaurantId AND m.id IN :ids")
+    List<MenuItem> findByRestaurantIdAndIdIn(@Param("restaurantId") Long restaurantId, @Param("ids") Collection<Long> ids);
 }
@@ -2,6 +2,7 @@ package com.fooddelivery.restaurantservice.repository;
 
 import com.fooddelivery.restaurantservice.entity.Restaurant;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -25,4 +26,11 @@ public interface RestaurantRepository extends JpaRepository<Restaurant, Long> {
 
     @Query("SELECT r FROM Restaurant r WHERE r.active = true AND r.cuisineType = :cuisineType")
     List<Restaurant> findActiveByQuisineType(@Param("cuisineType") Restaurant.CuisineType cuisineType);
+
+    @Modifying
+    @Query("UPDATE Restaurant r SET r.menuVersion = r.menuVersion + 1 WHERE r.id = :id")
+    int incrementMenuVersion(@Param("id") Long id);
+
+    @Query("SELECT r.menuVersion FROM Restaurant r WHERE r.id = :id")
+    Long findMenuVersionById(@Param("id") Long id);
 }
@@ -0,0 +1,100 @@
+package com.fooddelivery.restaurantservice.security;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Verifies the identity header signed by the api-gateway (see its IdentityHeaderSigner).
+ *
+ * The gateway has already verified the JWT, so a valid MAC and expiry are enough to build the principal
+ * without parsing the token again or asking user-service who the user is.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class IdentityHeaderVerifier {
+
+    public static final String IDENTITY_HEADER = "X-User-Identity";
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+    private final ObjectMapper objectMapper;
+
+    @Value("${identity.secret}")
+    private String identitySecret;
+
+    private SecretKeySpec signingKey;
+
+    // Mac instances are not thread-safe
+    private final ThreadLocal<Mac> macs = ThreadLocal.withInitial(this::newMac);
+
+    @PostConstruct
+    public void init() {
+        signingKey = new SecretKeySpec(identitySecret.getBytes(StandardCharsets.UTF_8), HMAC_ALGORITHM);
+    }
+
+    /**
+     * Returns the user described by the header, or null if the signature is wrong or it has expired
+     */
+    public UserDetails verify(String header) {
+        int dot = header.indexOf('.');
+        if (dot <= 0 || dot == header.length() - 1) {
+            return null;
+        }
+
+        try {
+            String payload = header.substring(0, dot);
+            byte[] signature = Base64.getUrlDecoder().decode(header.substring(dot + 1));
+            byte[] expected = macs.get().doFinal(payload.getBytes(StandardCharsets.US_ASCII));
+            if (!MessageDigest.isEqual(expected, signature)) {
+                log.warn("Rejected identity header with an invalid signature");
+                return null;
+            }
+
+            JsonNode identity = objectMapper.readTree(Base64.getUrlDecoder().decode(payload));
+            if (identity.path("exp").asLong() < System.currentTimeMillis() / 1000) {
+                log.debug("Rejected expired identity header");
+                return null;
+            }
+
+            List<GrantedAuthority> authorities = new ArrayList<>();
+            for (JsonNode role : identity.path("roles")) {
+                authorities.add(new SimpleGrantedAuthority("ROLE_" + role.asText()));
+            }
+            // Disabled users are turned away by the filter; tokens issued before the claim existed count as active
+            boolean active = identity.path("active").asBoolean(true);
+            return new User(identity.path("sub").asText(), "", active, true, true, true, authorities);
+        } catch (Exception ex) {
+            log.warn("Could not read identity header: {}", ex.getMessage());
+            return null;
+        }
+    }
+
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(signingKey);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Could not initialize " + HMAC_ALGORITHM, e);
+        }
+    }
+}
@@ -24,23 +24,38 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtTokenProvider tokenProvider;
     private final UserDetailsService userDetailsService;
+    private final IdentityHeaderVerifier identityHeaderVerifier;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
         try {
-            String jwt = getJwtFromRequest(request);
+            UserDetails userDetails = null;
 
-            if (StringUtils.hasText(jwt) && tokenProvider.validateToken(jwt)) {
-                String username = tokenProvider.getUsernameFromToken(jwt);
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+            // Requests through the gateway carry a signed identity: no token parsing, no user-service call
+            String identity = request.getHeader(IdentityHeaderVerifier.IDENTITY_HEADER);
+            if (StringUtils.hasText(identity)) {
+                userDetails = identityHeaderVerifier.verify(identity);
+            } else {
+                // Direct calls that bypass the gateway
+                String jwt = getJwtFromRequest(request);
+                if (StringUtils.hasText(jwt) && tokenProvider.validateToken(jwt)) {
+                    userDetails = userDetailsService.loadUserByUsername(tokenProvider.getUsernameFromToken(jwt));
+                }
+            }
+
+            if (userDetails != null && !userDetails.isEnabled()) {
+                log.warn("Rejected request of inactive user: {}", userDetails.getUsername());
+                userDetails = null;
+            }
 
+            if (userDetails != null) {
                 UsernamePasswordAuthenticationToken authentication =
                         new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
                 authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 
                 SecurityContextHolder.getContext().setAuthentication(authentication);
-                log.debug("Set Spring Security authentication for user: {}", username);
+                log.debug("Set Spring Security authentication for user: {}", userDetails.getUsername());
             }
         } catch (Exception ex) {
             log.error("Could not set user authentication in security context", ex);
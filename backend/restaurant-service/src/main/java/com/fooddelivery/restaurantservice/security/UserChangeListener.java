@@ -0,0 +1,31 @@
+package com.fooddelivery.restaurantservice.security;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class UserChangeListener {
+
+    private final UserDetailsServiceImpl userDetailsService;
+
+    @RabbitListener(queues = "#{userChangesQueue.name}")
+    public void onUserChanged(Map<String, Object> event) {
+        try {
+            Object email = event.get("email");
+            if (email == null) {
+                log.warn("Ignoring user change event without email: {}", event);
+                return;
+            }
+            log.debug("Evicting cached user details for: {}", email);
+            userDetailsService.evict(email.toString());
+        } catch (Exception ex) {
+            log.error("Error processing user change event: {}", event, ex);
+        }
+    }
+}
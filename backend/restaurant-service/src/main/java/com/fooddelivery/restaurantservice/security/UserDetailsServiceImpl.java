@@ -1,7 +1,13 @@
 package com.fooddelivery.restaurantservice.security;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -11,9 +17,11 @@ import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 
 import java.util.ArrayList;
-import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Service
 @RequiredArgsConstructor
@@ -21,9 +29,74 @@ import java.util.Map;
 public class UserDetailsServiceImpl implements UserDetailsService {
 
     private final RestTemplate restTemplate;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${user-details-cache.ttl-ms:300000}")
+    private long cacheTtlMs;
+
+    @Value("${user-details-cache.max-size:10000}")
+    private int cacheMaxSize;
+
+    // email -> user details; an entry whose load is still running is shared by concurrent callers
+    private final Map<String, CachedUser> cache = new ConcurrentHashMap<>();
+
+    private Counter hits;
+    private Counter misses;
+    private Timer loadTimer;
+
+    @PostConstruct
+    public void init() {
+        hits = Counter.builder("user.details.cache").tag("result", "hit").register(meterRegistry);
+        misses = Counter.builder("user.details.cache").tag("result", "miss").register(meterRegistry);
+        loadTimer = Timer.builder("user.details.load.latency").register(meterRegistry);
+        Gauge.builder("user.details.cache.size", cache, Map::size).register(meterRegistry);
+    }
 
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
+        long now = System.currentTimeMillis();
+
+        if (!hasRoomFor(username, now)) {
+            // Full of live entries: serve uncached rather than grow
+            misses.increment();
+            return loadTimer.record(() -> fetchUser(username));
+        }
+
+        boolean[] loader = {false};
+        CachedUser entry = cache.compute(username, (key, current) -> {
+            if (current != null && current.isUsable(now)) {
+                return current;
+            }
+            loader[0] = true;
+            return new CachedUser();
+        });
+
+        if (!loader[0]) {
+            hits.increment();
+            return await(entry);
+        }
+
+        misses.increment();
+        try {
+            UserDetails userDetails = loadTimer.record(() -> fetchUser(username));
+            entry.expiresAt = System.currentTimeMillis() + cacheTtlMs;
+            entry.future.complete(userDetails);
+        } catch (RuntimeException ex) {
+            // Don't cache failures; waiters get the same error and the next call retries
+            cache.remove(username, entry);
+            entry.future.completeExceptionally(ex);
+        }
+        return await(entry);
+    }
+
+    /**
+     * Drop the cached details of a user, e.g. after user-service reports a change
+     */
+    public void evict(String username) {
+        cache.remove(username);
+    }
+
+    private UserDetails fetchUser(String username) {
         try {
             // Call the user-service to fetch user details
             String userServiceUrl = "http://localhost:8081/users/email/" + username;
@@ -57,4 +130,35 @@ public class UserDetailsServiceImpl implements UserDetailsService {
             throw new UsernameNotFoundException("User not found with email: " + username);
         }
     }
+
+    private UserDetails await(CachedUser entry) {
+        try {
+            return entry.future.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    private boolean hasRoomFor(String username, long now) {
+        if (cache.size() < cacheMaxSize || cache.containsKey(username)) {
+            return true;
+        }
+        cache.values().removeIf(entry -> !entry.isUsable(now));
+        return cache.size() < cacheMaxSize;
+    }
+
+    private static final class CachedUser {
+
+        private final CompletableFuture<UserDetails> future = new CompletableFuture<>();
+
+        // Set before the future completes
+        private volatile long expiresAt;
+
+        private boolean isUsable(long now) {
+            return !future.isDone() || now < expiresAt;
+        }
+    }
 }
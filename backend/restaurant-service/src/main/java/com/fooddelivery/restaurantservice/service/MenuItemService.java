@@ -2,16 +2,26 @@ package com.fooddelivery.restaurantservice.service;
 
 import com.fooddelivery.restaurantservice.dto.MenuItemRequest;
 import com.fooddelivery.restaurantservice.dto.MenuItemResponse;
+import com.fooddelivery.restaurantservice.dto.MenuPricingResponse;
 import com.fooddelivery.restaurantservice.entity.MenuItem;
+import com.fooddelivery.restaurantservice.entity.Restaurant;
 import com.fooddelivery.restaurantservice.repository.MenuItemRepository;
+import com.fooddelivery.restaurantservice.repository.RestaurantRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -20,6 +30,8 @@ import java.util.stream.Collectors;
 public class MenuItemService {
 
     private final MenuItemRepository menuItemRepository;
+    private final RestaurantRepository restaurantRepository;
+    private final KafkaTemplate<String, Object> kafkaTemplate;
 
     @Transactional
     @CacheEvict(value = "menuitems", allEntries = true)
@@ -39,6 +51,8 @@ public class MenuItemService {
         MenuItem savedMenuItem = menuItemRepository.save(menuItem);
         log.info("Menu item created successfully with id: {}", savedMenuItem.getId());
 
+        recordMenuChange(savedMenuItem.getRestaurantId(), savedMenuItem.getId(), "MENU_ITEM_CREATED");
+
         return MenuItemResponse.fromEntity(savedMenuItem);
     }
 
@@ -64,6 +78,39 @@ public class MenuItemService {
                 .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
+    public MenuPricingResponse getMenuPricing(Long restaurantId, List<Long> menuItemIds) {
+        log.info("Fetching pricing for menu items: {} of restaurant: {}", menuItemIds, restaurantId);
+        Restaurant restaurant = restaurantRepository.findById(restaurantId)
+                .orElseThrow(() -> new IllegalArgumentException("Restaurant not found with id: " + restaurantId));
+
+        // Without explicit ids the full menu is returned, which is what order-service snapshots
+        if (menuItemIds == null || menuItemIds.isEmpty()) {
+            return MenuPricingResponse.builder()
+                    .restaurantId(restaurant.getId())
+                    .restaurantActive(restaurant.getActive())
+                    .menuVersion(restaurant.getMenuVersion())
+                    .items(getMenuItemsByRestaurant(restaurantId))
+                    .missingItemIds(List.of())
+                    .build();
+        }
+
+        Set<Long> requestedIds = new LinkedHashSet<>(menuItemIds);
+        List<MenuItemResponse> items = menuItemRepository.findByRestaurantIdAndIdIn(restaurantId, requestedIds).stream()
+                .map(MenuItemResponse::fromEntity)
+                .collect(Collectors.toList());
+
+        items.forEach(item -> requestedIds.remove(item.getId()));
+
+        return MenuPricingResponse.builder()
+                .restaurantId(restaurant.getId())
+                .restaurantActive(restaurant.getActive())
+                .menuVersion(restaurant.getMenuVersion())
+                .items(items)
+                .missingItemIds(List.copyOf(requestedIds))
+                .build();
+    }
+
     public List<MenuItemResponse> getMenuItemsByCategory(Long restaurantId, String category) {
         log.info("Fetching menu items by category: {} for restaurant: {}", category, restaurantId);
         try {
@@ -96,6 +143,8 @@ public class MenuItemService {
         MenuItem updatedMenuItem = menuItemRepository.save(menuItem);
         log.info("Menu item updated successfully with id: {}", id);
 
+        recordMenuChange(updatedMenuItem.getRestaurantId(), id, "MENU_ITEM_UPDATED");
+
         return MenuItemResponse.fromEntity(updatedMenuItem);
     }
 
@@ -108,6 +157,8 @@ public class MenuItemService {
 
         menuItemRepository.deleteById(id);
         log.info("Menu item deleted successfully with id: {}", id);
+
+        recordMenuChange(menuItem.getRestaurantId(), id, "MENU_ITEM_DELETED");
     }
 
     @Transactional
@@ -120,5 +171,50 @@ public class MenuItemService {
         menuItem.setAvailable(!menuItem.getAvailable());
         menuItemRepository.save(menuItem);
         log.info("Menu item availability toggled with id: {}", id);
+
+        recordMenuChange(menuItem.getRestaurantId(), id, "MENU_ITEM_UPDATED");
+    }
+
+    private void recordMenuChange(Long restaurantId, Long menuItemId, String eventType) {
+        restaurantRepository.incrementMenuVersion(restaurantId);
+        Long menuVersion = restaurantRepository.findMenuVersionById(restaurantId);
+
+        Map<String, Object> event = new HashMap<>();
+        event.put("eventType", eventType);
+        event.put("restaurantId", restaurantId);
+        event.put("menuItemId", menuItemId);
+        event.put("menuVersion", menuVersion);
+        event.put("timestamp", System.currentTimeMillis());
+
+        // Consumers must never see a menu version that was rolled back
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    publishMenuEvent(event);
+                }
+            });
+        } else {
+            publishMenuEvent(event);
+        }
+    }
+
+    private void publishMenuEvent(Map<String, Object> event) {
+        Object restaurantId = event.get("restaurantId");
+        try {
+            kafkaTemplate.send("restaurant.events", String.valueOf(restaurantId), event)
+                    .whenComplete((result, ex) -> {
+                        if (ex != null) {
+                            // order-service's menu cache falls back on its TTL for this restaurant
+                            log.error("Failed to publish menu event {} for restaurant id: {}",
+                                    event.get("eventType"), restaurantId, ex);
+                        } else {
+                            log.info("Menu event published: {} for restaurant id: {} at menu version {}",
+                                    event.get("eventType"), restaurantId, event.get("menuVersion"));
+                        }
+                    });
+        } catch (Exception ex) {
+            log.error("Failed to publish menu event", ex);
+        }
     }
 }
@@ -1,5 +1,9 @@
 package com.fooddelivery.userservice.config;
 
+import org.springframework.amqp.core.AnonymousQueue;
+import org.springframework.amqp.core.Binding;
+import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.FanoutExchange;
 import org.springframework.amqp.core.Queue;
 import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
 import org.springframework.amqp.support.converter.MessageConverter;
@@ -12,6 +16,9 @@ public class RabbitMQConfig {
     public static final String USER_EVENTS_QUEUE = "user.events";
     public static final String USER_NOTIFICATIONS_QUEUE = "user.notifications";
 
+    // Fanout so every instance of every interested service gets its own copy of each change
+    public static final String USER_CHANGES_EXCHANGE = "user.changes";
+
     @Bean
     public Queue userEventsQueue() {
         return new Queue(USER_EVENTS_QUEUE, true, false, false);
@@ -22,6 +29,22 @@ public class RabbitMQConfig {
         return new Queue(USER_NOTIFICATIONS_QUEUE, true, false, false);
     }
 
+    @Bean
+    public FanoutExchange userChangesExchange() {
+        return new FanoutExchange(USER_CHANGES_EXCHANGE, true, false);
+    }
+
+    // Per-instance queue feeding the token revocation list
+    @Bean
+    public Queue userChangesQueue() {
+        return new AnonymousQueue();
+    }
+
+    @Bean
+    public Binding userChangesBinding() {
+        return BindingBuilder.bind(userChangesQueue()).to(userChangesExchange());
+    }
+
     @Bean
     public MessageConverter messageConverter() {
         return new Jackson2JsonMessageConverter();
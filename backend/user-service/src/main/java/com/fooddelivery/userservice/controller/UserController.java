@@ -2,6 +2,7 @@ package com.fooddelivery.userservice.controller;
 
 import com.fooddelivery.userservice.dto.RegisterRequest;
 import com.fooddelivery.userservice.dto.UserResponse;
+import com.fooddelivery.userservice.security.AuthenticatedUser;
 import com.fooddelivery.userservice.service.UserService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -66,9 +67,11 @@ public class UserController {
             // Verify that the authenticated user is updating their own profile
             Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
             String email = authentication.getName();
-            UserResponse currentUser = userService.getUserByEmail(email);
+            Long currentUserId = authentication.getPrincipal() instanceof AuthenticatedUser user && user.getUserId() != null
+                    ? user.getUserId()
+                    : userService.getUserByEmail(email).getId();
 
-            if (!currentUser.getId().equals(id)) {
+            if (!currentUserId.equals(id)) {
                 log.warn("User {} attempted to update profile of user {}", email, id);
                 return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
             }
@@ -0,0 +1,21 @@
+package com.fooddelivery.userservice.security;
+
+import lombok.Getter;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+
+import java.util.Collection;
+
+/**
+ * Principal built from verified token claims; carries the user id so ownership checks need no lookup.
+ */
+@Getter
+public class AuthenticatedUser extends User {
+
+    private final Long userId;
+
+    public AuthenticatedUser(Long userId, String email, boolean active, Collection<? extends GrantedAuthority> authorities) {
+        super(email, "", active, true, true, true, authorities);
+        this.userId = userId;
+    }
+}
@@ -1,12 +1,15 @@
 package com.fooddelivery.userservice.security;
 
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
@@ -16,6 +19,7 @@ import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.List;
 
 @Component
 @RequiredArgsConstructor
@@ -24,6 +28,11 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtTokenProvider tokenProvider;
     private final UserDetailsService userDetailsService;
+    private final TokenRevocationList revocationList;
+
+    // "claims" builds the principal from the verified token; "lookup" loads the user from the database
+    @Value("${jwt.auth-mode:claims}")
+    private String authMode;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
@@ -31,16 +40,24 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         try {
             String jwt = getJwtFromRequest(request);
 
-            if (StringUtils.hasText(jwt) && tokenProvider.validateToken(jwt)) {
-                String username = tokenProvider.getUsernameFromToken(jwt);
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+            Claims claims = StringUtils.hasText(jwt) ? tokenProvider.getVerifiedClaims(jwt) : null;
+
+            if (claims != null) {
+                String username = claims.getSubject();
+                UserDetails userDetails = resolveUser(claims);
 
-                UsernamePasswordAuthenticationToken authentication =
-                        new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
-                authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                if (userDetails == null) {
+                    log.warn("Rejected token with outdated claims for user: {}", username);
+                } else if (!userDetails.isEnabled()) {
+                    log.warn("Rejected token of inactive user: {}", username);
+                } else {
+                    UsernamePasswordAuthenticationToken authentication =
+                            new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+                    authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 
-                SecurityContextHolder.getContext().setAuthentication(authentication);
-                log.debug("Set Spring Security authentication for user: {}", username);
+                    SecurityContextHolder.getContext().setAuthentication(authentication);
+                    log.debug("Set Spring Security authentication for user: {}", username);
+                }
             }
         } catch (Exception ex) {
             log.error("Could not set user authentication in security context", ex);
@@ -49,6 +66,30 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    /**
+     * Returns null if the token's claims have been revoked
+     */
+    private UserDetails resolveUser(Claims claims) {
+        // Tokens issued before role/active claims existed still go through the lookup
+        if (!"claims".equalsIgnoreCase(authMode) || claims.get("role") == null) {
+            return userDetailsService.loadUserByUsername(claims.getSubject());
+        }
+        if (revocationList.isRevoked(claims)) {
+            return null;
+        }
+        return fromClaims(claims);
+    }
+
+    private UserDetails fromClaims(Claims claims) {
+        Number userId = claims.get("uid", Number.class);
+        Boolean active = claims.get("active", Boolean.class);
+        return new AuthenticatedUser(
+                userId != null ? userId.longValue() : null,
+                claims.getSubject(),
+                active == null || active,
+                List.of(new SimpleGrantedAuthority("ROLE_" + claims.get("role", String.class))));
+    }
+
     private String getJwtFromRequest(HttpServletRequest request) {
         String bearerToken = request.getHeader("Authorization");
         if (StringUtils.hasText(bearerToken) && bearerToken.startsWith("Bearer ")) {
@@ -1,5 +1,6 @@
 package com.fooddelivery.userservice.security;
 
+import com.fooddelivery.userservice.entity.User;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
@@ -48,11 +49,42 @@ public class JwtTokenProvider {
                 .compact();
     }
 
+    /**
+     * Token carrying the user's id, role and active flag, so the gateway and this service can authenticate
+     * the user from the token alone
+     */
+    public String generateTokenForUser(User user) {
+        Date now = new Date();
+        Date expiryDate = new Date(now.getTime() + jwtExpirationInMs);
+
+        return Jwts.builder()
+                .setSubject(user.getEmail())
+                .claim("uid", user.getId())
+                .claim("role", user.getRole().name())
+                .claim("active", user.getActive())
+                .setIssuedAt(now)
+                .setExpiration(expiryDate)
+                .signWith(getSigningKey(), SignatureAlgorithm.HS512)
+                .compact();
+    }
+
     public String getUsernameFromToken(String token) {
         Claims claims = getAllClaimsFromToken(token);
         return claims.getSubject();
     }
 
+    /**
+     * Verify the token and return its claims, or null if it is invalid or expired
+     */
+    public Claims getVerifiedClaims(String token) {
+        try {
+            return getAllClaimsFromToken(token);
+        } catch (Exception ex) {
+            log.error("Invalid JWT token: {}", ex.getMessage());
+            return null;
+        }
+    }
+
     public boolean validateToken(String token) {
         try {
             Jwts.parserBuilder()
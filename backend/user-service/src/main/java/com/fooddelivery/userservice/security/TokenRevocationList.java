@@ -0,0 +1,60 @@
+package com.fooddelivery.userservice.security;
+
+import io.jsonwebtoken.Claims;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory record of users whose role or active flag changed recently.
+ *
+ * In claims-based auth mode tokens are trusted without a lookup, so a token whose role/active claims
+ * disagree with the latest known state is rejected. Entries are kept for one token lifetime, after which
+ * every token issued before the change has expired anyway.
+ */
+@Component
+@Slf4j
+public class TokenRevocationList {
+
+    @Value("${jwt.expiration}")
+    private long jwtExpirationInMs;
+
+    private final Map<String, UserState> latestStates = new ConcurrentHashMap<>();
+
+    public void onUserChanged(String email, String role, Boolean active) {
+        long now = System.currentTimeMillis();
+        latestStates.values().removeIf(state -> now - state.recordedAt > jwtExpirationInMs);
+        latestStates.put(email, new UserState(role, active == null || active, now));
+        log.debug("Recorded user state for {}: role={}, active={}", email, role, active);
+    }
+
+    public boolean isRevoked(Claims claims) {
+        UserState state = latestStates.get(claims.getSubject());
+        if (state == null) {
+            return false;
+        }
+        if (!state.active) {
+            return true;
+        }
+        return !Objects.equals(state.role, claims.get("role", String.class));
+    }
+
+    private static final class UserState {
+
+        private final String role;
+
+        private final boolean active;
+
+        private final long recordedAt;
+
+        private UserState(String role, boolean active, long recordedAt) {
+            this.role = role;
+            this.active = active;
+            this.recordedAt = recordedAt;
+        }
+    }
+}
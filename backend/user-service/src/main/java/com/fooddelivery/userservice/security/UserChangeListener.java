@@ -0,0 +1,33 @@
+package com.fooddelivery.userservice.security;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class UserChangeListener {
+
+    private final TokenRevocationList revocationList;
+
+    // Every instance keeps its own revocation list, so each listens on its own anonymous queue
+    @RabbitListener(queues = "#{userChangesQueue.name}")
+    public void onUserChanged(Map<String, Object> event) {
+        try {
+            Object email = event.get("email");
+            if (email == null) {
+                log.warn("Ignoring user change event without email: {}", event);
+                return;
+            }
+            Object role = event.get("role");
+            revocationList.onUserChanged(email.toString(), role != null ? role.toString() : null,
+                    (Boolean) event.get("active"));
+        } catch (Exception ex) {
+            log.error("Error processing user change event: {}", event, ex);
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.fooddelivery.userservice.service;
 
+import com.fooddelivery.userservice.config.RabbitMQConfig;
 import com.fooddelivery.userservice.dto.AuthResponse;
 import com.fooddelivery.userservice.dto.LoginRequest;
 import com.fooddelivery.userservice.dto.RegisterRequest;
@@ -12,10 +13,11 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.Authentication;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -55,10 +57,10 @@ public class UserService {
         log.info("User registered successfully with id: {}", savedUser.getId());
 
         // Publish user registration event to RabbitMQ
-        publishUserRegistrationEvent(savedUser);
+        runAfterCommit(() -> publishUserRegistrationEvent(savedUser));
 
         // Generate JWT token
-        String token = jwtTokenProvider.generateTokenFromUsername(savedUser.getEmail());
+        String token = jwtTokenProvider.generateTokenForUser(savedUser);
 
         return AuthResponse.builder()
                 .token(token)
@@ -74,7 +76,8 @@ public class UserService {
     public AuthResponse login(LoginRequest request) {
         log.info("Attempting login for user: {}", request.getEmail());
 
-        Authentication authentication = authenticationManager.authenticate(
+        // Throws if the credentials are wrong
+        authenticationManager.authenticate(
                 new UsernamePasswordAuthenticationToken(
                         request.getEmail(),
                         request.getPassword()
@@ -84,7 +87,7 @@ public class UserService {
         User user = userRepository.findByEmail(request.getEmail())
                 .orElseThrow(() -> new IllegalArgumentException("User not found"));
 
-        String token = jwtTokenProvider.generateToken(authentication);
+        String token = jwtTokenProvider.generateTokenForUser(user);
         log.info("User logged in successfully: {}", request.getEmail());
 
         return AuthResponse.builder()
@@ -125,9 +128,27 @@ public class UserService {
 
         User updatedUser = userRepository.save(user);
         log.info("User updated successfully with id: {}", id);
+
+        runAfterCommit(() -> publishUserChangedEvent(updatedUser, "USER_UPDATED"));
         return UserResponse.fromEntity(updatedUser);
     }
 
+    /**
+     * Run action once the current transaction commits, so consumers never see a change that was rolled back
+     */
+    private void runAfterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
     private void publishUserRegistrationEvent(User user) {
         try {
             Map<String, Object> event = new HashMap<>();
@@ -145,4 +166,21 @@ public class UserService {
             log.error("Failed to publish user registration event", ex);
         }
     }
+
+    private void publishUserChangedEvent(User user, String eventType) {
+        try {
+            Map<String, Object> event = new HashMap<>();
+            event.put("eventType", eventType);
+            event.put("userId", user.getId());
+            event.put("email", user.getEmail());
+            event.put("role", user.getRole().name());
+            event.put("active", user.getActive());
+            event.put("timestamp", System.currentTimeMillis());
+
+            rabbitTemplate.convertAndSend(RabbitMQConfig.USER_CHANGES_EXCHANGE, "", event);
+            log.info("User change event {} published for user: {}", eventType, user.getId());
+        } catch (Exception ex) {
+            log.error("Failed to publish user change event", ex);
+        }
+    }
 }
@@ -10,7 +10,7 @@ import {
   Restaurant as RestaurantIcon,
 } from '@mui/icons-material';
 
-const DeliveryMap = ({ order }) => {
+const DeliveryMap = ({ order, driverLocation }) => {
   // This is a placeholder map component
   // In production, integrate with Google Maps, Mapbox, or similar service
 
@@ -41,6 +41,11 @@ const DeliveryMap = ({ order }) => {
               <Typography variant="body2" color="text.secondary">
                 Tracking delivery in real-time
               </Typography>
+              {driverLocation && (
+                <Typography variant="caption" color="text.secondary">
+                  Driver at {driverLocation.latitude.toFixed(5)}, {driverLocation.longitude.toFixed(5)}
+                </Typography>
+              )}
             </>
           ) : (
             <>
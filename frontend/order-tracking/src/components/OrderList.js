@@ -13,6 +13,7 @@ import {
   CardActionArea,
   Chip,
   Divider,
+  Button,
 } from '@mui/material';
 import {
   Receipt as ReceiptIcon,
@@ -27,6 +28,8 @@ const OrderList = () => {
   const [orders, setOrders] = useState([]);
   const [loading, setLoading] = useState(true);
   const [error, setError] = useState(null);
+  const [nextCursor, setNextCursor] = useState(null);
+  const [loadingMore, setLoadingMore] = useState(false);
   const [activeTab, setActiveTab] = useState(0);
 
   useEffect(() => {
@@ -36,8 +39,9 @@ const OrderList = () => {
   const fetchOrders = async () => {
     try {
       setLoading(true);
-      const data = await orderService.getUserOrders();
-      setOrders(data);
+      const { orders: firstPage, nextCursor: cursor } = await orderService.getUserOrders();
+      setOrders(firstPage);
+      setNextCursor(cursor);
       setError(null);
     } catch (err) {
       setError(err.message);
@@ -46,6 +50,19 @@ const OrderList = () => {
     }
   };
 
+  const loadMore = async () => {
+    try {
+      setLoadingMore(true);
+      const { orders: page, nextCursor: cursor } = await orderService.getUserOrders(nextCursor);
+      setOrders((current) => [...current, ...page]);
+      setNextCursor(cursor);
+    } catch (err) {
+      setError(err.message);
+    } finally {
+      setLoadingMore(false);
+    }
+  };
+
   const handleTabChange = (event, newValue) => {
     setActiveTab(newValue);
   };
@@ -210,6 +227,15 @@ const OrderList = () => {
           ))}
         </Grid>
       )}
+
+      {/* Older orders may belong to any tab, so more can be loaded whichever tab is open */}
+      {nextCursor && (
+        <Box sx={{ display: 'flex', justifyContent: 'center', mt: 3 }}>
+          <Button variant="outlined" onClick={loadMore} disabled={loadingMore}>
+            {loadingMore ? <CircularProgress size={24} /> : 'Load more'}
+          </Button>
+        </Box>
+      )}
     </Box>
   );
 };
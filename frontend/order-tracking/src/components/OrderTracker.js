@@ -23,6 +23,7 @@ const OrderTracker = () => {
   const [loading, setLoading] = useState(true);
   const [error, setError] = useState(null);
   const [wsConnected, setWsConnected] = useState(false);
+  const [driverLocation, setDriverLocation] = useState(null);
 
   useEffect(() => {
     fetchOrder();
@@ -31,6 +32,7 @@ const OrderTracker = () => {
     return () => {
       if (wsConnected) {
         websocketService.unsubscribe(`/topic/order/${orderId}`);
+        websocketService.unsubscribe(`/topic/order/${orderId}/tracking`);
         websocketService.disconnect();
       }
     };
@@ -54,6 +56,7 @@ const OrderTracker = () => {
       () => {
         setWsConnected(true);
         websocketService.subscribeToOrder(orderId, handleOrderUpdate);
+        websocketService.subscribeToTracking(orderId, setDriverLocation);
       },
       (error) => {
         console.error('WebSocket connection failed:', error);
@@ -157,7 +160,7 @@ const OrderTracker = () => {
               <Typography variant="h6" gutterBottom fontWeight={600}>
                 Delivery Location
               </Typography>
-              <DeliveryMap order={order} />
+              <DeliveryMap order={order} driverLocation={driverLocation} />
             </Paper>
           )}
         </Grid>
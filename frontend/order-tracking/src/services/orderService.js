@@ -33,10 +33,18 @@ const orderService = {
     }
   },
 
-  getUserOrders: async () => {
+  // One page of the user's orders, newest first; nextCursor is null on the last page
+  getUserOrders: async (cursor = null, limit = 20) => {
     try {
-      const response = await api.get('/orders/my-orders');
-      return response.data;
+      const params = { limit };
+      if (cursor) {
+        params.cursor = cursor;
+      }
+      const response = await api.get('/orders/my-orders', { params });
+      return {
+        orders: response.data,
+        nextCursor: response.headers['x-next-cursor'] || null,
+      };
     } catch (error) {
       throw new Error(error.response?.data?.message || 'Failed to fetch orders');
     }
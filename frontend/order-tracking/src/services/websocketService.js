@@ -62,6 +62,26 @@ class WebSocketService {
     return subscription;
   }
 
+  subscribeToTracking(orderId, callback) {
+    if (!this.stompClient || !this.connected) {
+      console.error('WebSocket not connected');
+      return null;
+    }
+
+    const destination = `/topic/order/${orderId}/tracking`;
+    const subscription = this.stompClient.subscribe(destination, (message) => {
+      try {
+        const data = JSON.parse(message.body);
+        callback(data);
+      } catch (error) {
+        console.error('Error parsing WebSocket message:', error);
+      }
+    });
+
+    this.subscribers.set(destination, subscription);
+    return subscription;
+  }
+
   unsubscribe(destination) {
     const subscription = this.subscribers.get(destination);
     if (subscription) {
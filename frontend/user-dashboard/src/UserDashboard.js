@@ -6,11 +6,13 @@ import UserProfile from './components/UserProfile';
 import OrderHistory from './components/OrderHistory';
 import AddressManager from './components/AddressManager';
 import DriverDashboard from './components/DriverDashboard';
+import KitchenBoard from './components/KitchenBoard';
 
 const UserDashboard = () => {
   // Check user role from localStorage
   const user = JSON.parse(localStorage.getItem('user') || '{}');
   const isDriver = user.role === 'DRIVER';
+  const isRestaurantOwner = user.role === 'RESTAURANT_OWNER';
 
   // If driver, show only driver dashboard
   if (isDriver) {
@@ -23,6 +25,18 @@ const UserDashboard = () => {
     );
   }
 
+  // Restaurant owners get the live kitchen board alongside their profile
+  if (isRestaurantOwner) {
+    return (
+      <Container maxWidth="xl" sx={{ py: 4 }}>
+        <Routes>
+          <Route path="/" element={<KitchenBoard />} />
+          <Route path="/profile" element={<UserProfile />} />
+        </Routes>
+      </Container>
+    );
+  }
+
   // Otherwise show regular user dashboard
   return (
     <Container maxWidth="xl" sx={{ py: 4 }}>
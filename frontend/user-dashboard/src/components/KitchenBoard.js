@@ -0,0 +1,194 @@
+import React, { useState, useEffect } from 'react';
+import {
+  Box,
+  Card,
+  CardContent,
+  Typography,
+  Alert,
+  CircularProgress,
+  Chip,
+  Grid,
+  MenuItem,
+  TextField,
+} from '@mui/material';
+import restaurantService from '../services/restaurantService';
+import kitchenBoardService from '../services/kitchenBoardService';
+
+const BOARD_COLUMNS = [
+  { status: 'PENDING', label: 'New' },
+  { status: 'CONFIRMED', label: 'Confirmed' },
+  { status: 'PREPARING', label: 'Preparing' },
+  { status: 'READY_FOR_PICKUP', label: 'Ready for Pickup' },
+];
+
+// Applies one stream event to the board, keyed by order id; deltas older than what the board holds are ignored
+const applyEvent = (board, event) => {
+  switch (event.name) {
+    case 'snapshot':
+      return Object.fromEntries(event.data.map((order) => [order.id, order]));
+    case 'order-added':
+      return { ...board, [event.data.id]: event.data };
+    case 'order-updated': {
+      const order = board[event.data.orderId];
+      if (!order || order.version >= event.data.version) {
+        return board;
+      }
+      return {
+        ...board,
+        [order.id]: { ...order, orderStatus: event.data.orderStatus, version: event.data.version },
+      };
+    }
+    case 'order-removed': {
+      const order = board[event.data.orderId];
+      if (!order || order.version >= event.data.version) {
+        return board;
+      }
+      const { [order.id]: removed, ...rest } = board;
+      return rest;
+    }
+    default:
+      return board;
+  }
+};
+
+const KitchenBoard = () => {
+  const [restaurants, setRestaurants] = useState([]);
+  const [restaurantId, setRestaurantId] = useState('');
+  const [board, setBoard] = useState(null);
+  const [loading, setLoading] = useState(true);
+  const [error, setError] = useState(null);
+
+  useEffect(() => {
+    fetchRestaurants();
+  }, []);
+
+  useEffect(() => {
+    if (!restaurantId) {
+      return undefined;
+    }
+    setBoard(null);
+    return kitchenBoardService.subscribe(
+      restaurantId,
+      (event) => {
+        setError(null);
+        setBoard((current) => applyEvent(current || {}, event));
+      },
+      (err) => setError(err.message)
+    );
+  }, [restaurantId]);
+
+  const fetchRestaurants = async () => {
+    try {
+      setLoading(true);
+      const user = JSON.parse(localStorage.getItem('user') || '{}');
+      const data = await restaurantService.getOwnerRestaurants(user.userId);
+      setRestaurants(data);
+      if (data.length > 0) {
+        setRestaurantId(data[0].id);
+      }
+    } catch (err) {
+      setError(err.message);
+    } finally {
+      setLoading(false);
+    }
+  };
+
+  if (loading) {
+    return (
+      <Box
+        sx={{
+          display: 'flex',
+          justifyContent: 'center',
+          alignItems: 'center',
+          minHeight: '60vh',
+        }}
+      >
+        <CircularProgress size={60} />
+      </Box>
+    );
+  }
+
+  const orders = Object.values(board || {});
+
+  return (
+    <Box>
+      <Box sx={{ display: 'flex', justifyContent: 'space-between', alignItems: 'center', mb: 3 }}>
+        <Box>
+          <Typography variant="h4" gutterBottom fontWeight={600}>
+            Kitchen Board
+          </Typography>
+          <Typography variant="body1" color="text.secondary">
+            Open orders, updated live
+          </Typography>
+        </Box>
+        {restaurants.length > 1 && (
+          <TextField
+            select
+            size="small"
+            label="Restaurant"
+            value={restaurantId}
+            onChange={(e) => setRestaurantId(e.target.value)}
+            sx={{ minWidth: 220 }}
+          >
+            {restaurants.map((restaurant) => (
+              <MenuItem key={restaurant.id} value={restaurant.id}>
+                {restaurant.name}
+              </MenuItem>
+            ))}
+          </TextField>
+        )}
+      </Box>
+
+      {error && (
+        <Alert severity="error" sx={{ mb: 2 }}>
+          {error}
+        </Alert>
+      )}
+
+      {restaurants.length === 0 ? (
+        <Alert severity="info">You have no restaurants yet.</Alert>
+      ) : board === null ? (
+        <Box sx={{ display: 'flex', justifyContent: 'center', py: 6 }}>
+          <CircularProgress />
+        </Box>
+      ) : (
+        <Grid container spacing={2}>
+          {BOARD_COLUMNS.map((column) => {
+            const columnOrders = orders
+              .filter((order) => order.orderStatus === column.status)
+              .sort((a, b) => new Date(a.createdAt) - new Date(b.createdAt));
+            return (
+              <Grid item xs={12} sm={6} md={3} key={column.status}>
+                <Box sx={{ display: 'flex', alignItems: 'center', gap: 1, mb: 1 }}>
+                  <Typography variant="h6">{column.label}</Typography>
+                  <Chip label={columnOrders.length} size="small" />
+                </Box>
+                {columnOrders.map((order) => (
+                  <Card key={order.id} sx={{ mb: 2 }}>
+                    <CardContent>
+                      <Typography variant="subtitle1" fontWeight={600}>
+                        Order #{order.id}
+                      </Typography>
+                      {order.orderItems?.map((item) => (
+                        <Typography variant="body2" key={item.id}>
+                          {item.quantity} x {item.menuItemName}
+                        </Typography>
+                      ))}
+                      {order.specialInstructions && (
+                        <Typography variant="body2" color="text.secondary" sx={{ mt: 1 }}>
+                          {order.specialInstructions}
+                        </Typography>
+                      )}
+                    </CardContent>
+                  </Card>
+                ))}
+              </Grid>
+            );
+          })}
+        </Grid>
+      )}
+    </Box>
+  );
+};
+
+export default KitchenBoard;
@@ -29,6 +29,8 @@ const OrderHistory = () => {
   const [orders, setOrders] = useState([]);
   const [loading, setLoading] = useState(true);
   const [error, setError] = useState(null);
+  const [nextCursor, setNextCursor] = useState(null);
+  const [loadingMore, setLoadingMore] = useState(false);
 
   useEffect(() => {
     fetchOrders();
@@ -37,8 +39,9 @@ const OrderHistory = () => {
   const fetchOrders = async () => {
     try {
       setLoading(true);
-      const data = await orderService.getUserOrders();
-      setOrders(data);
+      const { orders: firstPage, nextCursor: cursor } = await orderService.getUserOrders();
+      setOrders(firstPage);
+      setNextCursor(cursor);
       setError(null);
     } catch (err) {
       setError(err.message);
@@ -47,6 +50,19 @@ const OrderHistory = () => {
     }
   };
 
+  const loadMore = async () => {
+    try {
+      setLoadingMore(true);
+      const { orders: page, nextCursor: cursor } = await orderService.getUserOrders(nextCursor);
+      setOrders((current) => [...current, ...page]);
+      setNextCursor(cursor);
+    } catch (err) {
+      setError(err.message);
+    } finally {
+      setLoadingMore(false);
+    }
+  };
+
   const getStatusColor = (status) => {
     const statusColors = {
       PLACED: 'info',
@@ -201,6 +217,14 @@ const OrderHistory = () => {
           </Table>
         </TableContainer>
       )}
+
+      {nextCursor && (
+        <Box sx={{ display: 'flex', justifyContent: 'center', mt: 3 }}>
+          <Button variant="outlined" onClick={loadMore} disabled={loadingMore}>
+            {loadingMore ? <CircularProgress size={24} /> : 'Load more'}
+          </Button>
+        </Box>
+      )}
     </Box>
   );
 };
@@ -0,0 +1,98 @@
+const API_BASE_URL = process.env.REACT_APP_API_GATEWAY_URL || 'http://localhost:8080';
+
+const RECONNECT_DELAY_MS = 1000;
+const MAX_RECONNECT_DELAY_MS = 30000;
+
+// Splits a text/event-stream body into events; comment lines such as the server heartbeat are skipped
+const parseEvents = (chunk) => {
+  const events = [];
+  chunk.split('\n\n').forEach((block) => {
+    let name = 'message';
+    const data = [];
+    block.split('\n').forEach((line) => {
+      if (!line || line.startsWith(':')) {
+        return;
+      }
+      const separator = line.indexOf(':');
+      const field = separator === -1 ? line : line.slice(0, separator);
+      let value = separator === -1 ? '' : line.slice(separator + 1);
+      if (value.startsWith(' ')) {
+        value = value.slice(1);
+      }
+      if (field === 'event') {
+        name = value;
+      } else if (field === 'data') {
+        data.push(value);
+      }
+    });
+    if (data.length > 0) {
+      events.push({ name, data: JSON.parse(data.join('\n')) });
+    }
+  });
+  return events;
+};
+
+const kitchenBoardService = {
+  // EventSource cannot send the Authorization header the gateway requires, so the board stream is read with
+  // fetch instead. Reconnects with backoff; every connection starts with a fresh snapshot. Returns a function
+  // that closes the stream.
+  subscribe: (restaurantId, onEvent, onError) => {
+    const controller = new AbortController();
+    let reconnectDelay = RECONNECT_DELAY_MS;
+    let reconnectTimer = null;
+
+    const connect = async () => {
+      try {
+        const response = await fetch(`${API_BASE_URL}/orders/restaurant/${restaurantId}/board`, {
+          headers: {
+            Accept: 'text/event-stream',
+            Authorization: `Bearer ${localStorage.getItem('token')}`,
+          },
+          signal: controller.signal,
+        });
+        if (response.status === 401 || response.status === 403) {
+          // Retrying will not help until the user logs in again
+          onError(new Error('Not authorized to view this kitchen board'));
+          return;
+        }
+        if (!response.ok || !response.body) {
+          throw new Error(`Kitchen board stream failed with status ${response.status}`);
+        }
+
+        const reader = response.body.pipeThrough(new TextDecoderStream()).getReader();
+        let buffer = '';
+        for (;;) {
+          const { value, done } = await reader.read();
+          if (done) {
+            break;
+          }
+          buffer += value.replace(/\r\n?/g, '\n');
+          const boundary = buffer.lastIndexOf('\n\n');
+          if (boundary !== -1) {
+            parseEvents(buffer.slice(0, boundary)).forEach(onEvent);
+            buffer = buffer.slice(boundary + 2);
+          }
+          reconnectDelay = RECONNECT_DELAY_MS;
+        }
+      } catch (error) {
+        if (controller.signal.aborted) {
+          return;
+        }
+        onError(error);
+      }
+      if (!controller.signal.aborted) {
+        reconnectTimer = setTimeout(connect, reconnectDelay);
+        reconnectDelay = Math.min(reconnectDelay * 2, MAX_RECONNECT_DELAY_MS);
+      }
+    };
+
+    connect();
+
+    return () => {
+      clearTimeout(reconnectTimer);
+      controller.abort();
+    };
+  },
+};
+
+export default kitchenBoardService;